@@ -0,0 +1,54 @@
+package com.ncr.test.pyramid.bench;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The exponential {@link com.ncr.test.pyramid.solver.impl.NaivePyramidSolver},
+ * kept to sizes where one operation stays well below a second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class NaiveSolverBenchmark {
+
+    @Param({"5", "10", "15", "20"})
+    public int rows;
+
+    @Param({"100", "1000000"})
+    public int range;
+
+    @Param({"25321"})
+    public long seed;
+
+    private PyramidSolver instance;
+    private Pyramid pyramid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = SolverKind.NAIVE.create();
+        pyramid = PyramidState.generate(rows, range, seed, "packed");
+    }
+
+    @Benchmark
+    public long solve() {
+        return instance.pyramidMaximumTotal(pyramid);
+    }
+}
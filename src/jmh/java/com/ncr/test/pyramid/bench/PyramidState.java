@@ -0,0 +1,31 @@
+package com.ncr.test.pyramid.bench;
+
+import com.ncr.test.pyramid.data.ProceduralPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+
+/**
+ * Builds the benchmark input the same way for every benchmark class.
+ */
+final class PyramidState {
+
+    private PyramidState() {
+    }
+
+    /**
+     * @param layout "packed" for the generator output, "array" for the jagged {@code int[][]} form,
+     *               "procedural" for cells computed on every read
+     */
+    static Pyramid generate(int rows, int range, long seed, String layout) {
+        if ("procedural".equals(layout)) {
+            return new ProceduralPyramid(rows, range, seed);
+        }
+        RandomPyramidGenerator.setRandSeed(seed);
+        final Pyramid pyramid = new RandomPyramidGenerator(rows, range).generatePyramid();
+        return switch (layout) {
+            case "packed" -> pyramid;
+            case "array" -> new Pyramid(pyramid.getData());
+            default -> throw new IllegalArgumentException("Unknown layout " + layout);
+        };
+    }
+}
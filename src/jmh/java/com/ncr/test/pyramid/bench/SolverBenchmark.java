@@ -0,0 +1,71 @@
+package com.ncr.test.pyramid.bench;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polynomial solvers over seeded random pyramids.
+ * <p>
+ * Run with {@code ./gradlew jmh}; the task adds the gc profiler, so the allocation
+ * rate per operation ({@code gc.alloc.rate.norm}) is reported next to throughput
+ * and average time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SolverBenchmark {
+
+    @Param({"YOUR", "STREAMING", "PATH_TRACKING", "PARALLEL", "VECTOR", "REUSABLE", "INSTRUMENTED", "ADAPTIVE", "BAND"})
+    public SolverKind solver;
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    @Param({"100", "1000000"})
+    public int range;
+
+    @Param({"packed", "array"})
+    public String layout;
+
+    @Param({"25321"})
+    public long seed;
+
+    private PyramidSolver instance;
+    private Pyramid pyramid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = solver.create();
+        pyramid = PyramidState.generate(rows, range, seed, layout);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (instance instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public long solve() {
+        return instance.pyramidMaximumTotal(pyramid);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ncr.test.pyramid.bench;
+
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import com.ncr.test.pyramid.solver.impl.AdaptivePyramidSolver;
+import com.ncr.test.pyramid.solver.impl.BandPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.InstrumentedPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.NaivePyramidSolver;
+import com.ncr.test.pyramid.solver.impl.ParallelPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.PathTrackingSolver;
+import com.ncr.test.pyramid.solver.impl.ReusableSolver;
+import com.ncr.test.pyramid.solver.impl.StreamingPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.VectorPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import com.ncr.test.pyramid.solver.metrics.SolverMetrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Solvers known to the benchmarks, by the name used in {@code @Param}.
+ * New {@link PyramidSolver} implementations are added here and to the
+ * {@code solver} parameter of {@link SolverBenchmark}.
+ */
+public enum SolverKind {
+    NAIVE(NaivePyramidSolver::new),
+    YOUR(YourSolver::new),
+    STREAMING(StreamingPyramidSolver::new),
+    PATH_TRACKING(PathTrackingSolver::new),
+    PARALLEL(ParallelPyramidSolver::new),
+    VECTOR(VectorPyramidSolver::new),
+    REUSABLE(ReusableSolver::new),
+    /** YourSolver behind the metrics decorator, to compare against YOUR */
+    INSTRUMENTED(() -> new InstrumentedPyramidSolver(new YourSolver(), new SolverMetrics("benchmark"), 0)),
+    /** calibrates when created, i.e. in the trial setup */
+    ADAPTIVE(AdaptivePyramidSolver::calibrate),
+    BAND(BandPyramidSolver::new);
+
+    private final Supplier<PyramidSolver> factory;
+
+    SolverKind(Supplier<PyramidSolver> factory) {
+        this.factory = factory;
+    }
+
+    public PyramidSolver create() {
+        return factory.get();
+    }
+}
@@ -2,6 +2,7 @@ package com.ncr.test.pyramid;
 
 import com.ncr.test.pyramid.data.Pyramid;
 import com.ncr.test.pyramid.data.PyramidGenerator;
+import com.ncr.test.pyramid.data.PyramidRenderer;
 import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
 import com.ncr.test.pyramid.solver.PyramidSolver;
 import com.ncr.test.pyramid.solver.impl.YourSolver;
@@ -15,7 +16,8 @@ public class YourProgram {
         // let's have bigger data
         final PyramidGenerator generator = new RandomPyramidGenerator(99, 10000);
         final Pyramid pyramid = generator.generatePyramid();
-        System.out.println(pyramid);
+        PyramidRenderer.FULL.print(pyramid, System.out);
+        System.out.println();
 
         // this is your implementation
         final PyramidSolver solver = new YourSolver();
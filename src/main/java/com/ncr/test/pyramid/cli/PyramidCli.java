@@ -0,0 +1,389 @@
+package com.ncr.test.pyramid.cli;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.PyramidRenderer;
+import com.ncr.test.pyramid.io.BinaryPyramidFormat;
+import com.ncr.test.pyramid.io.BinaryPyramidReader;
+import com.ncr.test.pyramid.io.PyramidTextParser;
+import com.ncr.test.pyramid.solver.PyramidSolution;
+import com.ncr.test.pyramid.solver.impl.PathTrackingSolver;
+import com.ncr.test.pyramid.solver.impl.SolverContext;
+import com.ncr.test.pyramid.utils.ThreadPools;
+import com.ncr.test.pyramid.utils.Util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Command line tool solving pyramid files in bulk.
+ * <pre>
+ * PyramidCli [options] [file|directory|-]...
+ *   --format csv|jsonl   result format, csv by default
+ *   --output FILE        write results to FILE instead of standard output
+ *   --threads N          solver threads, one per processor by default
+ *   --io-threads N       reader threads, 4 by default
+ *   --path               also report the L/R moves of the best path
+ *   --print              print each pyramid (elided) to standard error
+ * </pre>
+ * Directories are walked recursively. Each file is read as {@link BinaryPyramidFormat} when
+ * it starts with its magic number, otherwise as text (see {@link PyramidTextParser}); {@code -}
+ * or no argument at all reads one pyramid from standard input.
+ * <p>
+ * Files are read and parsed on the I/O threads and solved on the solver threads, with at most
+ * twice as many pyramids in memory as there are solver threads. Binary files are mapped
+ * (see {@link BinaryPyramidReader#map}) rather than copied to the heap, so they count against
+ * that window with their page cache only. Results are written in input
+ * order, one line per file; a file that cannot be read gets a line with its error instead and
+ * makes the exit status 1. A summary with the throughput goes to standard error at the end.
+ * <p>
+ * Pyramids are not printed unless asked for: rendering a large pyramid costs far more than
+ * solving it.
+ */
+public class PyramidCli {
+
+    static final String STDIN = "-";
+
+    private static final int DEFAULT_IO_THREADS = 4;
+    private static final PyramidRenderer PRINT_RENDERER = PyramidRenderer.elided(16, 16);
+
+    /**
+     * Result line format.
+     */
+    enum Format {
+        CSV, JSONL
+    }
+
+    /**
+     * Parsed command line.
+     */
+    record Options(List<String> inputs, Format format, Path output, int threads, int ioThreads,
+                   boolean withPath, boolean print) {
+
+        static Options parse(String... args) {
+            final List<String> inputs = new ArrayList<>();
+            Format format = Format.CSV;
+            Path output = null;
+            int threads = Runtime.getRuntime().availableProcessors();
+            int ioThreads = DEFAULT_IO_THREADS;
+            boolean withPath = false;
+            boolean print = false;
+            for (int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                switch (arg) {
+                    case "--format" -> format = parseFormat(value(args, ++i, arg));
+                    case "--output" -> output = Path.of(value(args, ++i, arg));
+                    case "--threads" -> threads = positive(value(args, ++i, arg), arg);
+                    case "--io-threads" -> ioThreads = positive(value(args, ++i, arg), arg);
+                    case "--path" -> withPath = true;
+                    case "--print" -> print = true;
+                    default -> {
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        }
+                        inputs.add(arg);
+                    }
+                }
+            }
+            if (inputs.isEmpty()) {
+                inputs.add(STDIN);
+            }
+            return new Options(List.copyOf(inputs), format, output, threads, ioThreads, withPath, print);
+        }
+
+        private static String value(String[] args, int index, String option) {
+            if (index >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            return args[index];
+        }
+
+        private static Format parseFormat(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown format (csv, jsonl): " + value);
+            }
+        }
+
+        private static int positive(String value, String option) {
+            final int number;
+            try {
+                number = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(option + " needs a number: " + value);
+            }
+            if (number < 1) {
+                throw new IllegalArgumentException(option + " must be positive: " + value);
+            }
+            return number;
+        }
+    }
+
+    /**
+     * Outcome for one input; either {@code error} or the solution fields are set.
+     */
+    record Result(String name, int rows, long total, String moves, long bytes, String error) {
+
+        static Result failed(String name, Throwable error) {
+            while ((error instanceof CompletionException || error instanceof UncheckedIOException)
+                    && error.getCause() != null) {
+                error = error.getCause();
+            }
+            return new Result(name, -1, 0, null, 0, error.getMessage() != null ? error.getMessage() : error.toString());
+        }
+
+        boolean isFailed() {
+            return error != null;
+        }
+    }
+
+    /**
+     * Totals of a run.
+     */
+    record Summary(long files, long failed, long cells, long bytes, long elapsedNanos) {
+
+        @Override
+        public String toString() {
+            final double seconds = elapsedNanos / 1e9;
+            return String.format(Locale.ROOT,
+                    "%d pyramids (%d failed), %d cells, %.1f MB in %.3f s: %.1f pyramids/s, %.1f Mcells/s, %.1f MB/s",
+                    files, failed, cells, bytes / 1e6, seconds,
+                    seconds == 0 ? 0 : files / seconds, seconds == 0 ? 0 : cells / seconds / 1e6,
+                    seconds == 0 ? 0 : bytes / seconds / 1e6);
+        }
+    }
+
+    private record Parsed(String name, Pyramid pyramid, long bytes) {
+    }
+
+    private final Options options;
+    private final BinaryPyramidReader binaryReader = new BinaryPyramidReader();
+    private final PyramidTextParser textParser = new PyramidTextParser();
+
+    PyramidCli(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: PyramidCli [--format csv|jsonl] [--output FILE] [--threads N] [--io-threads N]"
+                    + " [--path] [--print] [file|directory|-]...");
+            System.exit(2);
+            return;
+        }
+        try {
+            final Summary summary = new PyramidCli(options).run(System.in, System.out, System.err);
+            System.exit(summary.failed() == 0 ? 0 : 1);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Solves all inputs, writing one result line each to the output file or {@code out}.
+     *
+     * @throws IOException if the inputs cannot be listed or the results cannot be written;
+     *                     unreadable pyramid files are reported in their result line
+     */
+    Summary run(InputStream in, OutputStream out, PrintStream err) throws IOException {
+        final long start = System.nanoTime();
+        final List<String> names = expandInputs();
+        final ExecutorService io = ThreadPools.newFixedThreadPool(options.ioThreads(), "pyramid-io");
+        final ExecutorService cpu = ThreadPools.newFixedThreadPool(options.threads(), "pyramid-solver");
+        final ThreadLocal<SolverContext> contexts = ThreadLocal.withInitial(SolverContext::new);
+        final int window = 2 * options.threads();
+        long failed = 0;
+        long cells = 0;
+        long bytes = 0;
+        try (Writer writer = openOutput(out)) {
+            writeHeader(writer);
+            final Deque<CompletableFuture<Result>> pending = new ArrayDeque<>(window);
+            int next = 0;
+            while (next < names.size() || !pending.isEmpty()) {
+                while (next < names.size() && pending.size() < window) {
+                    final String name = names.get(next++);
+                    pending.add(CompletableFuture.supplyAsync(() -> load(name, in), io)
+                            .thenApplyAsync(parsed -> solve(parsed, contexts.get(), err), cpu)
+                            .exceptionally(e -> Result.failed(name, e)));
+                }
+                final Result result = pending.remove().join();
+                if (result.isFailed()) {
+                    failed++;
+                } else {
+                    cells += PackedPyramid.cellCount(result.rows());
+                    bytes += result.bytes();
+                }
+                writeResult(writer, result);
+            }
+        } finally {
+            io.shutdownNow();
+            cpu.shutdownNow();
+        }
+        final Summary summary = new Summary(names.size(), failed, cells, bytes, System.nanoTime() - start);
+        err.println(summary);
+        return summary;
+    }
+
+    private List<String> expandInputs() throws IOException {
+        final List<String> names = new ArrayList<>();
+        for (String input : options.inputs()) {
+            final Path path = Path.of(input);
+            if (!input.equals(STDIN) && Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.filter(Files::isRegularFile).sorted().forEach(file -> names.add(file.toString()));
+                }
+            } else {
+                names.add(input);
+            }
+        }
+        return names;
+    }
+
+    private Parsed load(String name, InputStream in) {
+        try {
+            if (name.equals(STDIN)) {
+                final byte[] body = in.readAllBytes();
+                return new Parsed(name, parse(ByteBuffer.wrap(body)), body.length);
+            }
+            final Path file = Path.of(name);
+            final long size = Files.size(file);
+            return new Parsed(name, isBinary(file) ? binaryReader.map(file) : textParser.read(file), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Pyramid parse(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() >= Integer.BYTES
+                && buffer.order(BinaryPyramidFormat.BYTE_ORDER).getInt(buffer.position()) == BinaryPyramidFormat.MAGIC) {
+            return binaryReader.read(buffer);
+        }
+        return textParser.parse(buffer);
+    }
+
+    private static boolean isBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            final ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(BinaryPyramidFormat.BYTE_ORDER);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // keep reading until the magic number is complete or the file ends
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == BinaryPyramidFormat.MAGIC;
+        }
+    }
+
+    private Result solve(Parsed parsed, SolverContext context, PrintStream err) {
+        final Pyramid pyramid = parsed.pyramid();
+        if (options.print()) {
+            synchronized (err) {
+                err.println(parsed.name() + ":");
+                PRINT_RENDERER.print(pyramid, err);
+                err.println();
+            }
+        }
+        if (options.withPath()) {
+            final PyramidSolution solution = new PathTrackingSolver().solve(pyramid);
+            return new Result(parsed.name(), pyramid.getRows(), solution.getTotal(), solution.getMovesString(),
+                    parsed.bytes(), null);
+        }
+        return new Result(parsed.name(), pyramid.getRows(), context.solve(pyramid), null, parsed.bytes(), null);
+    }
+
+    private Writer openOutput(OutputStream out) throws IOException {
+        final OutputStream target = options.output() != null ? Files.newOutputStream(options.output()) : nonClosing(out);
+        return new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private void writeHeader(Writer writer) throws IOException {
+        if (options.format() == Format.CSV) {
+            writer.write(options.withPath() ? "file,rows,total,moves,error\n" : "file,rows,total,error\n");
+        }
+    }
+
+    private void writeResult(Writer writer, Result result) throws IOException {
+        final StringBuilder line = new StringBuilder(64);
+        if (options.format() == Format.CSV) {
+            line.append(csv(result.name())).append(',');
+            if (!result.isFailed()) {
+                line.append(result.rows()).append(',').append(result.total());
+            } else {
+                line.append(',');
+            }
+            if (options.withPath()) {
+                line.append(',').append(result.moves() != null ? result.moves() : "");
+            }
+            line.append(',').append(result.isFailed() ? csv(result.error()) : "");
+        } else {
+            line.append("{\"file\":").append(Util.jsonString(result.name()));
+            if (result.isFailed()) {
+                line.append(",\"error\":").append(Util.jsonString(result.error()));
+            } else {
+                line.append(",\"rows\":").append(result.rows()).append(",\"total\":").append(result.total());
+                if (result.moves() != null) {
+                    line.append(",\"moves\":\"").append(result.moves()).append('"');
+                }
+            }
+            line.append('}');
+        }
+        writer.append(line).append('\n');
+    }
+
+    /**
+     * CSV field, quoted when it holds a comma, a quote or a line break.
+     */
+    static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Keeps standard output open when the result writer is closed.
+     */
+    private static OutputStream nonClosing(OutputStream out) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+        };
+    }
+}
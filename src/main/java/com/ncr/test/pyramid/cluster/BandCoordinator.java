@@ -0,0 +1,265 @@
+package com.ncr.test.pyramid.cluster;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.io.BinaryPyramidFormat;
+import com.ncr.test.pyramid.io.BinaryPyramidReader;
+import com.ncr.test.pyramid.io.BinaryPyramidWriter;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Solves pyramids too large for one JVM by spreading their rows over band files and worker processes.
+ * <pre>
+ * BandCoordinator split PYRAMID_FILE DIRECTORY BANDS
+ * BandCoordinator solve BAND_FILE...
+ * </pre>
+ * {@link #split(Pyramid, Path, int)} cuts a pyramid into bands of consecutive rows holding about
+ * the same number of cells each, one band file per band (see {@link BinaryPyramidFormat}).
+ * {@link #solve(List)} then starts one {@link BandWorker} JVM per band file and chains them with
+ * pipes, standard output of each worker to standard input of the next, so that the
+ * {@link Frontier} below each band flows straight into the worker of the band below it. The
+ * coordinator only reads the single value left by the last worker. Results are those of
+ * {@link YourSolver}: the workers run the same additions, top-down.
+ * <p>
+ * Each worker holds one band file and O(width) heap, so bands can be put on different disks
+ * and workers can be given small heaps through the JVM options. The workers are started
+ * together but work one after the other, each waiting for the frontier from above; the
+ * processes split the memory, not the time.
+ */
+public class BandCoordinator implements PyramidSolver {
+
+    public static final int DEFAULT_BANDS = 4;
+
+    private final int bands;
+    private final List<String> workerJvmOptions;
+
+    /**
+     * Uses {@link #DEFAULT_BANDS} workers with the default JVM options.
+     */
+    public BandCoordinator() {
+        this(DEFAULT_BANDS, List.of());
+    }
+
+    /**
+     * @param bands            number of bands, and worker processes, for {@link #pyramidMaximumTotal(Pyramid)}
+     * @param workerJvmOptions extra JVM options of every worker, e.g. {@code -Xmx64m}
+     */
+    public BandCoordinator(int bands, List<String> workerJvmOptions) {
+        if (bands < 1) {
+            throw new IllegalArgumentException("Bands must be positive: " + bands);
+        }
+        this.bands = bands;
+        this.workerJvmOptions = List.copyOf(workerJvmOptions);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 4 && "split".equals(args[0])) {
+            final Pyramid pyramid = new BinaryPyramidReader().map(Path.of(args[1]));
+            final Path directory = Files.createDirectories(Path.of(args[2]));
+            split(pyramid, directory, Integer.parseInt(args[3])).forEach(System.out::println);
+        } else if (args.length >= 2 && "solve".equals(args[0])) {
+            final List<Path> files = Arrays.stream(args, 1, args.length).map(Path::of).toList();
+            System.out.println(new BandCoordinator().solve(files));
+        } else {
+            System.err.println("Usage: BandCoordinator split PYRAMID_FILE DIRECTORY BANDS");
+            System.err.println("       BandCoordinator solve BAND_FILE...");
+            System.exit(2);
+        }
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    /**
+     * Splits the pyramid into band files in a temporary directory and solves them in worker processes.
+     *
+     * @throws UncheckedIOException if the files cannot be written or a worker fails
+     */
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("pyramid-bands");
+            return solve(split(pyramid, directory, bands));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the workers"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (directory != null) {
+                deleteQuietly(directory);
+            }
+        }
+    }
+
+    /**
+     * Writes the pyramid as {@code bands} band files named {@code band-0000.pyrb}, ... in the directory;
+     * fewer when the pyramid has fewer rows than that, none for an empty pyramid.
+     * Bands hold about the same number of cells, so the bottom bands have the most rows.
+     *
+     * @return the band files, top row first
+     */
+    public static List<Path> split(Pyramid pyramid, Path directory, int bands) throws IOException {
+        if (bands < 1) {
+            throw new IllegalArgumentException("Bands must be positive: " + bands);
+        }
+        final int rows = pyramid.getRows();
+        final int count = Math.min(bands, rows);
+        final int cellWidth = BinaryPyramidWriter.narrowestCellWidth(pyramid);
+        final BinaryPyramidWriter writer = new BinaryPyramidWriter();
+        final List<Path> files = new ArrayList<>(count);
+        int firstRow = 0;
+        for (int band = 0; band < count; band++) {
+            final int endRow = endRow(rows, firstRow, band, count);
+            final Path file = directory.resolve(String.format("band-%04d.pyrb", band));
+            writer.writeBand(pyramid, firstRow, endRow, file, cellWidth);
+            files.add(file);
+            firstRow = endRow;
+        }
+        return files;
+    }
+
+    /**
+     * Smallest row ending the band after about {@code (band + 1) / count} of the cells, leaving
+     * at least one row to each following band.
+     */
+    static int endRow(int rows, int firstRow, int band, int count) {
+        if (band == count - 1) {
+            return rows;
+        }
+        final long target = PackedPyramid.cellCount(rows) * (band + 1) / count;
+        int endRow = firstRow + 1;
+        while (endRow < rows - (count - band - 1) && PackedPyramid.rowOffset(rows, endRow) < target) {
+            endRow++;
+        }
+        return endRow;
+    }
+
+    /**
+     * Solves the pyramid stored in the band files, one worker process per file.
+     *
+     * @param files band files, top row first, covering all rows of one pyramid
+     * @return the maximum path total, 0 for no files
+     * @throws IOException if the files do not form a pyramid or a worker fails
+     */
+    public long solve(List<Path> files) throws IOException, InterruptedException {
+        if (files.isEmpty()) {
+            return 0L;
+        }
+        checkBands(files);
+
+        final List<ProcessBuilder> builders = new ArrayList<>(files.size());
+        for (Path file : files) {
+            final List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(workerJvmOptions);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(BandWorker.class.getName());
+            command.add(file.toString());
+            builders.add(new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT));
+        }
+
+        final List<Process> workers = ProcessBuilder.startPipeline(builders);
+        try {
+            // The top band reads no frontier
+            workers.get(0).getOutputStream().close();
+            long[] result = null;
+            IOException readError = null;
+            try (InputStream in = workers.get(workers.size() - 1).getInputStream()) {
+                result = Frontier.read(in);
+            } catch (IOException e) {
+                readError = e;
+            }
+
+            final List<String> failures = new ArrayList<>();
+            for (int i = 0; i < workers.size(); i++) {
+                final int status = workers.get(i).waitFor();
+                if (status != 0) {
+                    failures.add(files.get(i) + " (exit status " + status + ")");
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new IOException("Band workers failed: " + String.join(", ", failures), readError);
+            }
+            if (readError != null) {
+                throw readError;
+            }
+            if (result.length != 1) {
+                throw new IOException("Last band left " + result.length + " values instead of the total");
+            }
+            return result[0];
+        } finally {
+            workers.forEach(Process::destroyForcibly);
+        }
+    }
+
+    /**
+     * Checks that the band files, in the given order, cover the rows of one pyramid without gaps.
+     */
+    private static void checkBands(List<Path> files) throws IOException {
+        int rows = -1;
+        int nextRow = 0;
+        for (Path file : files) {
+            final BinaryPyramidFormat.BandHeader header = readBandHeader(file);
+            if (rows >= 0 && header.rows() != rows) {
+                throw new IOException(file + " belongs to a pyramid of " + header.rows() + " rows, not " + rows);
+            }
+            if (header.firstRow() != nextRow) {
+                throw new IOException(file + " starts at row " + header.firstRow() + ", expected " + nextRow);
+            }
+            rows = header.rows();
+            nextRow = header.endRow();
+        }
+        if (nextRow != rows) {
+            throw new IOException("Band files end at row " + nextRow + " of " + rows);
+        }
+    }
+
+    private static BinaryPyramidFormat.BandHeader readBandHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BinaryPyramidFormat.BAND_HEADER_SIZE)
+                    .order(BinaryPyramidFormat.BYTE_ORDER);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return BinaryPyramidFormat.readBandHeader(buffer);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ignored) {
+                    // Left to the temporary directory cleanup
+                }
+            });
+        } catch (IOException ignored) {
+            // Left to the temporary directory cleanup
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ncr.test.pyramid.cluster;
+
+import com.ncr.test.pyramid.io.BinaryPyramidFormat;
+import com.ncr.test.pyramid.solver.impl.StreamingPyramidSolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Process solving one band file, started by {@link BandCoordinator}.
+ * <pre>
+ * BandWorker BAND_FILE
+ * </pre>
+ * Continues the top-down DP of {@link StreamingPyramidSolver} through the band's rows: the
+ * {@link Frontier} above the band is read from standard input (nothing is read for the band
+ * holding row 0), the frontier below it is written to standard output. The frontier after
+ * the bottom row is a single value, the pyramid total. The heap holds the frontier and one
+ * row, whatever the band size; the band file is read sequentially.
+ * <p>
+ * The exit status is 0 on success and 1 after an error, which is reported on standard error.
+ */
+public final class BandWorker {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BandWorker() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: BandWorker BAND_FILE");
+            System.exit(2);
+        }
+        try {
+            final OutputStream out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE);
+            solve(Path.of(args[0]), System.in, out);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Band " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Solves the band, reading the frontier above it from {@code above} unless it starts at
+     * row 0, and writes the frontier below it to {@code below}. Neither stream is closed.
+     */
+    public static void solve(Path band, InputStream above, OutputStream below) throws IOException {
+        try (FileChannel channel = FileChannel.open(band, READ);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE)) {
+            final BinaryPyramidFormat.BandHeader header = BinaryPyramidFormat.readBandHeader(
+                    ByteBuffer.wrap(in.readNBytes(BinaryPyramidFormat.BAND_HEADER_SIZE))
+                            .order(BinaryPyramidFormat.BYTE_ORDER));
+            if (channel.size() < header.fileSize()) {
+                throw new IOException("Truncated band file: rows [" + header.firstRow() + ", " + header.endRow()
+                        + ") need " + header.fileSize() + " bytes, file has " + channel.size());
+            }
+
+            final StreamingPyramidSolver.Session session;
+            if (header.firstRow() == 0) {
+                session = new StreamingPyramidSolver.Session();
+            } else {
+                final long[] frontier = Frontier.read(above);
+                if (frontier.length != header.firstRowLength() + 1) {
+                    throw new IOException("Band starting at row " + header.firstRow() + " needs a frontier of "
+                            + (header.firstRowLength() + 1) + " values, got " + frontier.length);
+                }
+                session = new StreamingPyramidSolver.Session(frontier, frontier.length, header.firstRow());
+            }
+            session.accept(in, header.cellWidth(), header.firstRowLength(), header.bandRows());
+            Frontier.write(below, session.getFrontier(), session.getWidth());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ncr.test.pyramid.cluster;
+
+import com.ncr.test.pyramid.io.BinaryPyramidFormat;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the DP frontier passed from one band worker to the next.
+ * <p>
+ * All numbers are little-endian, as in {@link BinaryPyramidFormat}:
+ *
+ *     offset  size  field
+ *          0     4  width, the number of values
+ *          4  8 * width  best path totals from the top row down to each cell of the boundary row
+ */
+public final class Frontier {
+
+    private static final int CHUNK_VALUES = 1 << 13;
+
+    private Frontier() {
+    }
+
+    /**
+     * Writes the first {@code width} values; the stream is flushed but not closed.
+     */
+    public static void write(OutputStream out, long[] frontier, int width) throws IOException {
+        final byte[] bytes = new byte[Integer.BYTES + Long.BYTES * Math.min(width, CHUNK_VALUES)];
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes).order(BinaryPyramidFormat.BYTE_ORDER);
+        buffer.putInt(width);
+        for (int i = 0; i < width; i++) {
+            if (!buffer.hasRemaining()) {
+                out.write(bytes, 0, buffer.position());
+                buffer.clear();
+            }
+            buffer.putLong(frontier[i]);
+        }
+        out.write(bytes, 0, buffer.position());
+        out.flush();
+    }
+
+    /**
+     * Reads one frontier; the stream is read up to its last value and is not closed.
+     */
+    public static long[] read(InputStream in) throws IOException {
+        final ByteBuffer header = ByteBuffer.wrap(readFully(in, Integer.BYTES, "the frontier width"))
+                .order(BinaryPyramidFormat.BYTE_ORDER);
+        final int width = header.getInt();
+        if (width < 0) {
+            throw new IOException("Negative frontier width " + width);
+        }
+        final long[] frontier = new long[width];
+        for (int start = 0; start < width; start += CHUNK_VALUES) {
+            final int count = Math.min(CHUNK_VALUES, width - start);
+            ByteBuffer.wrap(readFully(in, count * Long.BYTES, "frontier value " + start))
+                    .order(BinaryPyramidFormat.BYTE_ORDER)
+                    .asLongBuffer()
+                    .get(frontier, start, count);
+        }
+        return frontier;
+    }
+
+    private static byte[] readFully(InputStream in, int length, String what) throws IOException {
+        final byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Frontier stream ended inside " + what);
+        }
+        return bytes;
+    }
+}
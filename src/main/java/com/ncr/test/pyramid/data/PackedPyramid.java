@@ -0,0 +1,153 @@
+package com.ncr.test.pyramid.data;
+
+import java.util.Arrays;
+
+/**
+ * Pyramid kept in one contiguous {@code int[]} of {@code n(n+1)/2} cells.
+ * <p>
+ * Rows are stored one after another starting with the widest row 0, so the
+ * pyramid from {@link Pyramid} is laid out like this
+ *
+ *     [00059] [00207] [00098] [00095] [00087] [00001] [00070] [00036] [00041] [00023]
+ *     |---------- row 0 ------------| |------ row 1 ------| |-- row 2 --| | row 3 |
+ *
+ * and cell [row][col] lives at {@code rowOffset(rows, row) + col}.
+ * Compared to the square {@code int[rows][rows]} form there is no padding and
+ * no per-row array header, and walking the cells row by row reads memory
+ * sequentially.
+ */
+public class PackedPyramid extends Pyramid {
+
+    /**
+     * Largest row count whose cells still fit into one Java array.
+     */
+    public static final int MAX_ROWS = 65_535;
+
+    private final int[] cells;
+
+    /**
+     * @param rows  number of rows, in {@code [0, MAX_ROWS]}
+     * @param cells packed cells, at least {@code cellCount(rows)} long; not copied
+     */
+    public PackedPyramid(int rows, int[] cells) {
+        super(checkRows(rows));
+        final long cellCount = cellCount(rows);
+        if (cells.length < cellCount) {
+            throw new IllegalArgumentException(
+                    "Expected " + cellCount + " cells for " + rows + " rows, got " + cells.length);
+        }
+        this.cells = cells;
+    }
+
+    /**
+     * Creates an empty (all zeros) packed pyramid, to be filled through {@link #getCells()}.
+     */
+    public static PackedPyramid allocate(int rows) {
+        return new PackedPyramid(checkRows(rows), new int[(int) cellCount(rows)]);
+    }
+
+    private static int checkRows(int rows) {
+        if (rows < 0 || rows > MAX_ROWS) {
+            throw new IllegalArgumentException("Row count out of range [0, " + MAX_ROWS + "]: " + rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Packs a pyramid given in the jagged or square {@code [row][column]} form.
+     * Only the valid {@code rows - row} cells of each row are read.
+     */
+    public static PackedPyramid of(int[][] data) {
+        final int rows = data.length;
+        final PackedPyramid packed = allocate(rows);
+        final int[] cells = packed.cells;
+        int offset = 0;
+        for (int row = 0; row < rows; row++) {
+            final int length = rows - row;
+            System.arraycopy(data[row], 0, cells, offset, length);
+            offset += length;
+        }
+        return packed;
+    }
+
+    /**
+     * Packs any pyramid, reading it row by row.
+     */
+    public static PackedPyramid of(Pyramid pyramid) {
+        if (pyramid instanceof PackedPyramid packed) {
+            return packed;
+        }
+        if (pyramid.isArrayBacked()) {
+            return of(pyramid.getData());
+        }
+        final int rows = pyramid.getRows();
+        final PackedPyramid packed = allocate(rows);
+        final int[] row = new int[rows];
+        int offset = 0;
+        for (int r = 0; r < rows; r++) {
+            final int length = rows - r;
+            pyramid.copyRow(r, row);
+            System.arraycopy(row, 0, packed.cells, offset, length);
+            offset += length;
+        }
+        return packed;
+    }
+
+    /**
+     * Number of valid cells in a pyramid with the given number of rows.
+     */
+    public static long cellCount(int rows) {
+        return (long) rows * (rows + 1) / 2;
+    }
+
+    /**
+     * Index of the first cell of {@code row} in the packed layout.
+     * Rows before it hold {@code rows + (rows - 1) + ... + (rows - row + 1)} cells.
+     */
+    public static long rowOffset(int rows, int row) {
+        return (long) row * rows - (long) row * (row - 1) / 2;
+    }
+
+    /**
+     * The backing packed array; see the class description for the layout.
+     */
+    public int[] getCells() {
+        return cells;
+    }
+
+    /**
+     * Index of the first cell of {@code row} in {@link #getCells()}.
+     */
+    public int rowOffset(int row) {
+        return (int) rowOffset(getRows(), row);
+    }
+
+    @Override
+    public int get(int row, int col) {
+        return cells[rowOffset(row) + col];
+    }
+
+    /**
+     * Returns a copy of the valid cells of a row.
+     */
+    public int[] getRow(int row) {
+        final int offset = rowOffset(row);
+        return Arrays.copyOfRange(cells, offset, offset + getRowLength(row));
+    }
+
+    @Override
+    public int[] copyRow(int row, int[] target) {
+        System.arraycopy(cells, rowOffset(row), target, 0, getRowLength(row));
+        return target;
+    }
+
+    @Override
+    public int[][] getData() {
+        final int rows = getRows();
+        final int[][] data = new int[rows][];
+        for (int row = 0; row < rows; row++) {
+            data[row] = getRow(row);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ncr.test.pyramid.data;
+
+/**
+ * Pyramid whose cells are computed on demand and never stored.
+ * <p>
+ * Cell [row][col] is a hash of the seed and the cell's packed index (see
+ * {@link PackedPyramid#rowOffset(int, int)}), mixed with the SplitMix64 finalizer and
+ * mapped onto {@code [1, range]}. Any cell can be read in O(1) in any order, so the
+ * pyramid costs no memory whatever its size, and the same seed always gives the same
+ * values. The row count is only limited by {@code int}, far beyond what an
+ * array-backed pyramid can hold.
+ * <p>
+ * Solvers read it through {@link #copyRow(int, int[])}, which fills a row with one
+ * sequential pass instead of a {@link #get(int, int)} call per cell.
+ */
+public class ProceduralPyramid extends Pyramid {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final int range;
+
+    /**
+     * @param rows  number of rows, any non-negative {@code int}
+     * @param range values are in {@code [1, range]}
+     * @param seed  selects the pyramid
+     */
+    public ProceduralPyramid(int rows, int range, long seed) {
+        super(rows);
+        if (rows < 0) {
+            throw new IllegalArgumentException("Row count must not be negative: " + rows);
+        }
+        if (range < 1) {
+            throw new IllegalArgumentException("Range must be positive: " + range);
+        }
+        this.range = range;
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getRange() {
+        return range;
+    }
+
+    @Override
+    public int get(int row, int col) {
+        return value(PackedPyramid.rowOffset(getRows(), row) + col);
+    }
+
+    @Override
+    public int[] copyRow(int row, int[] target) {
+        final int length = getRowLength(row);
+        final long offset = PackedPyramid.rowOffset(getRows(), row);
+        for (int col = 0; col < length; col++) {
+            target[col] = value(offset + col);
+        }
+        return target;
+    }
+
+    /**
+     * Materializes a jagged copy; only for pyramids small enough to be stored.
+     *
+     * @throws UnsupportedOperationException above {@link PackedPyramid#MAX_ROWS} rows
+     */
+    @Override
+    public int[][] getData() {
+        final int rows = getRows();
+        if (rows > PackedPyramid.MAX_ROWS) {
+            throw new UnsupportedOperationException(
+                    "Pyramid of " + rows + " rows is too large to materialize");
+        }
+        final int[][] data = new int[rows][];
+        for (int row = 0; row < rows; row++) {
+            data[row] = copyRow(row, new int[getRowLength(row)]);
+        }
+        return data;
+    }
+
+    private int value(long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        // High 32 bits scaled onto [0, range) without a division
+        return 1 + (int) (((z >>> 32) * range) >>> 32);
+    }
+}
@@ -1,7 +1,5 @@
 package com.ncr.test.pyramid.data;
 
-import com.ncr.test.pyramid.utils.Util;
-
 /**
  * Pyramid type is a data structure for representation of inverted pyramids
  * like this.
@@ -28,7 +26,9 @@ import com.ncr.test.pyramid.utils.Util;
  *              [02,00] [02,01]
  *                  [03,00]
  * 
- * 
+ * Row {@code row} holds {@code rows - row} valid cells. Subclasses may keep the
+ * cells in a different layout (see {@link PackedPyramid}); they pass the row count
+ * to the protected constructor and override the accessors.
  */
 public class Pyramid {
     private final int rows;
@@ -39,10 +39,28 @@ public class Pyramid {
         this.rows = data.length;
     }
 
+    /**
+     * For subclasses which do not keep a jagged {@code int[][]} array.
+     */
+    protected Pyramid(int rows) {
+        this.data = null;
+        this.rows = rows;
+    }
 
+    /**
+     * Returns the cells as a {@code [row][column]} array. For array-backed pyramids
+     * this is the backing array itself; other layouts build a new jagged copy.
+     */
     public int[][] getData() {
         return data;
     }
+
+    /**
+     * Whether {@link #getData()} returns the backing array rather than a copy.
+     */
+    public boolean isArrayBacked() {
+        return data != null;
+    }
     
     public int get(int row, int col) {
         return data[row][col];
@@ -53,19 +71,34 @@ public class Pyramid {
     }
 
     /**
-     * Pretty print me
+     * Number of valid cells in the given row.
      */
-    @Override
-    public String toString() {
-        final StringBuilder sb = new StringBuilder();
-        for (int row = 0; row < rows; row++) {
-            sb.append(Util.repeatChar(' ', 4 * row));
-            for (int col = 0; col < rows - row; col++) {
-                sb.append(String.format("[%05d] ", data[row][col]));
+    public int getRowLength(int row) {
+        return rows - row;
+    }
+
+    /**
+     * Copies the valid cells of a row into {@code target}, starting at index 0.
+     *
+     * @return {@code target}
+     */
+    public int[] copyRow(int row, int[] target) {
+        final int length = getRowLength(row);
+        if (data != null) {
+            System.arraycopy(data[row], 0, target, 0, length);
+        } else {
+            for (int col = 0; col < length; col++) {
+                target[col] = get(row, col);
             }
-            sb.append(Util.NEW_LINE);
         }
+        return target;
+    }
 
-        return sb.toString();
+    /**
+     * Pretty print me; see {@link PyramidRenderer} for streaming or abbreviated output
+     */
+    @Override
+    public String toString() {
+        return PyramidRenderer.FULL.render(this);
     }
 }
@@ -0,0 +1,164 @@
+package com.ncr.test.pyramid.data;
+
+import com.ncr.test.pyramid.utils.Util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the {@link Pyramid#toString()} text form to any {@link Appendable}.
+ * <p>
+ * Cells are formatted by hand exactly like {@code String.format("[%05d] ", value)}:
+ * zero padded to five characters including the sign, wider values printed in full.
+ * Indentation is copied from a prebuilt run of spaces. Text is collected in a buffer of
+ * at most about {@link #FLUSH_THRESHOLD} characters and passed on, so a pyramid of
+ * any size can be streamed to a {@link java.io.Writer} or {@link java.io.PrintStream}
+ * without building the whole text in memory.
+ * <p>
+ * {@link #FULL} prints every cell. {@link #elided(int, int)} keeps the first and last
+ * rows and columns of huge pyramids and replaces the rest by a "..." marker; within
+ * those limits the output is the same as the full form.
+ */
+public final class PyramidRenderer {
+
+    /**
+     * Renders every row and cell; this is what {@link Pyramid#toString()} uses.
+     */
+    public static final PyramidRenderer FULL = new PyramidRenderer(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    static final int FLUSH_THRESHOLD = 8192;
+
+    private static final int INDENT_STEP = 4;
+    private static final String SPACES = " ".repeat(256);
+    private static final String ELISION = "... ";
+
+    private final int maxRows;
+    private final int maxColumns;
+
+    private PyramidRenderer(int maxRows, int maxColumns) {
+        this.maxRows = maxRows;
+        this.maxColumns = maxColumns;
+    }
+
+    /**
+     * Renderer printing at most {@code maxRows} rows and {@code maxColumns} cells per row.
+     * Longer rows keep their first and last cells around a {@code "... "} marker; taller
+     * pyramids keep their top and bottom rows around a line telling how many were skipped.
+     */
+    public static PyramidRenderer elided(int maxRows, int maxColumns) {
+        if (maxRows < 1 || maxColumns < 1) {
+            throw new IllegalArgumentException("Limits must be positive: " + maxRows + " rows, " + maxColumns + " columns");
+        }
+        return new PyramidRenderer(maxRows, maxColumns);
+    }
+
+    /**
+     * Renders into a new string.
+     */
+    public String render(Pyramid pyramid) {
+        final StringBuilder sb = new StringBuilder();
+        try {
+            render(pyramid, sb);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Streams the text to a print stream, which reports errors through {@link PrintStream#checkError()}.
+     */
+    public void print(Pyramid pyramid, PrintStream out) {
+        try {
+            render(pyramid, out);
+        } catch (IOException e) {
+            // PrintStream does not throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the text to {@code out}, one buffer of about {@link #FLUSH_THRESHOLD} characters at a time.
+     */
+    public void render(Pyramid pyramid, Appendable out) throws IOException {
+        // Appending to a StringBuilder directly saves copying every chunk
+        final StringBuilder sb = out instanceof StringBuilder target ? target : new StringBuilder(FLUSH_THRESHOLD + 64);
+        final char[] digits = new char[11];
+        final int rows = pyramid.getRows();
+
+        final int head = rows > maxRows ? (maxRows + 1) / 2 : rows;
+        final int tail = rows > maxRows ? maxRows / 2 : 0;
+        for (int row = 0; row < head; row++) {
+            renderRow(pyramid, row, sb, digits, out);
+        }
+        if (rows > maxRows) {
+            appendIndent(sb, head);
+            sb.append(ELISION).append(rows - maxRows).append(" more rows").append(Util.NEW_LINE);
+        }
+        for (int row = rows - tail; row < rows; row++) {
+            renderRow(pyramid, row, sb, digits, out);
+        }
+        if (sb != out) {
+            out.append(sb);
+        }
+    }
+
+    private void renderRow(Pyramid pyramid, int row, StringBuilder sb, char[] digits, Appendable out) throws IOException {
+        appendIndent(sb, row);
+        final int length = pyramid.getRowLength(row);
+        final int head = length > maxColumns ? (maxColumns + 1) / 2 : length;
+        for (int col = 0; col < head; col++) {
+            appendCell(sb, pyramid.get(row, col), digits);
+            flushIfFull(sb, out);
+        }
+        if (length > maxColumns) {
+            sb.append(ELISION);
+            for (int col = length - maxColumns / 2; col < length; col++) {
+                appendCell(sb, pyramid.get(row, col), digits);
+                flushIfFull(sb, out);
+            }
+        }
+        sb.append(Util.NEW_LINE);
+    }
+
+    private static void appendIndent(StringBuilder sb, int row) {
+        long remaining = (long) INDENT_STEP * row;
+        while (remaining > 0) {
+            final int chunk = (int) Math.min(remaining, SPACES.length());
+            sb.append(SPACES, 0, chunk);
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Appends {@code "[" + String.format("%05d", value) + "] "}.
+     */
+    static void appendCell(StringBuilder sb, int value, char[] digits) {
+        sb.append('[');
+        long magnitude = value;
+        int width = 5;
+        if (value < 0) {
+            sb.append('-');
+            magnitude = -magnitude;
+            width--;
+        }
+        int position = digits.length;
+        do {
+            digits[--position] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude != 0);
+        for (int zeros = width - (digits.length - position); zeros > 0; zeros--) {
+            sb.append('0');
+        }
+        sb.append(digits, position, digits.length - position).append("] ");
+    }
+
+    private static void flushIfFull(StringBuilder sb, Appendable out) throws IOException {
+        if (sb != out && sb.length() >= FLUSH_THRESHOLD) {
+            out.append(sb);
+            sb.setLength(0);
+        }
+    }
+}
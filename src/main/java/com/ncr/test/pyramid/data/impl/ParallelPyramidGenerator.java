@@ -0,0 +1,104 @@
+package com.ncr.test.pyramid.data.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.PyramidGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Pyramid factory filling random values on all cores, reproducibly.
+ * <p>
+ * The rows are cut into fixed blocks of {@link #ROWS_PER_BLOCK} rows, and each block
+ * gets its own {@link SplittableRandom} split off a root generator seeded with the
+ * given seed. The splits happen one after the other before any block is filled, so
+ * block {@code b} always draws from the same stream, and the blocks are then filled in
+ * parallel straight into the {@link PackedPyramid} cell array. The contents depend only
+ * on seed, row count and range, never on the parallelism or on thread scheduling.
+ * <p>
+ * Values are drawn from {@code [1, range]}, like {@link RandomPyramidGenerator}, though
+ * the two generators give different pyramids for the same seed.
+ */
+public class ParallelPyramidGenerator implements PyramidGenerator {
+
+    /**
+     * Rows filled from one random stream. Part of the output definition: changing it
+     * changes the pyramid generated for a seed.
+     */
+    public static final int ROWS_PER_BLOCK = 256;
+
+    private final int rows;
+    private final int range;
+    private final long seed;
+    private final int parallelism;
+
+    /**
+     * Generates on the common pool.
+     */
+    public ParallelPyramidGenerator(int rows, int range, long seed) {
+        this(rows, range, seed, 0);
+    }
+
+    /**
+     * @param parallelism threads of a pool created for each generation, or 0 for the common pool
+     */
+    public ParallelPyramidGenerator(int rows, int range, long seed, int parallelism) {
+        if (range < 1) {
+            throw new IllegalArgumentException("Range must be positive: " + range);
+        }
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Parallelism must not be negative: " + parallelism);
+        }
+        this.rows = rows;
+        this.range = range;
+        this.seed = seed;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public PackedPyramid generatePyramid() {
+        final PackedPyramid pyramid = PackedPyramid.allocate(rows);
+        fill(pyramid);
+        return pyramid;
+    }
+
+    /**
+     * Fills a preallocated pyramid of the configured row count, e.g. to reuse its buffer.
+     */
+    public void fill(PackedPyramid target) {
+        if (target.getRows() != rows) {
+            throw new IllegalArgumentException("Expected a pyramid of " + rows + " rows, got " + target.getRows());
+        }
+        final int[] cells = target.getCells();
+        final int blocks = (rows + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK;
+        final SplittableRandom root = new SplittableRandom(seed);
+        final SplittableRandom[] streams = new SplittableRandom[blocks];
+        for (int block = 0; block < blocks; block++) {
+            streams[block] = root.split();
+        }
+
+        final IntStream work = IntStream.range(0, blocks).parallel();
+        if (parallelism == 0) {
+            work.forEach(block -> fillBlock(cells, block, streams[block]));
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // Parallel streams run in the pool of the task starting them
+            pool.submit(() -> work.forEach(block -> fillBlock(cells, block, streams[block]))).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void fillBlock(int[] cells, int block, SplittableRandom random) {
+        final int firstRow = block * ROWS_PER_BLOCK;
+        final int endRow = Math.min(rows, firstRow + ROWS_PER_BLOCK);
+        final int from = (int) PackedPyramid.rowOffset(rows, firstRow);
+        final int to = (int) PackedPyramid.rowOffset(rows, endRow);
+        for (int i = from; i < to; i++) {
+            cells[i] = random.nextInt(range) + 1;
+        }
+    }
+}
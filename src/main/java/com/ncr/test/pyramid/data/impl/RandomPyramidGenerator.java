@@ -1,5 +1,6 @@
 package com.ncr.test.pyramid.data.impl;
 
+import com.ncr.test.pyramid.data.PackedPyramid;
 import com.ncr.test.pyramid.data.Pyramid;
 import com.ncr.test.pyramid.data.PyramidGenerator;
 
@@ -29,16 +30,19 @@ public class RandomPyramidGenerator implements PyramidGenerator {
         this.range = range;
     }
 
+    /**
+     * Cells are drawn row by row, so a given seed yields the same values
+     * as with the former square {@code int[rows][rows]} layout.
+     */
     @Override
     public Pyramid generatePyramid() {
 
-        final int[][] data = new int[rows][rows];
+        final PackedPyramid pyramid = PackedPyramid.allocate(rows);
+        final int[] cells = pyramid.getCells();
 
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < rows - row; col++) {
-                data[row][col] = random.nextInt(range) + 1;
-            }
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = random.nextInt(range) + 1;
         }
-        return new Pyramid(data);
+        return pyramid;
     }
 }
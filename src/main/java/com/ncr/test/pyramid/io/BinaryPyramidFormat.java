@@ -0,0 +1,189 @@
+package com.ncr.test.pyramid.io;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary pyramid file.
+ * <p>
+ * All numbers are little-endian.
+ *
+ *     offset  size  field
+ *          0     4  magic "PYRM"
+ *          4     2  format version (1)
+ *          6     2  cell width in bytes: 1, 2 or 4 (signed)
+ *          8     4  number of rows
+ *         12     4  reserved, 0
+ *         16     -  cells, row 0 (the widest) first, each row holding only its valid cells
+ *
+ * The cell area therefore has the same layout as {@link PackedPyramid#getCells()},
+ * and cell [row][col] starts at {@code HEADER_SIZE + (rowOffset(rows, row) + col) * cellWidth}.
+ * <p>
+ * A band file holds the consecutive rows {@code [firstRow, endRow)} of a pyramid, so that
+ * a pyramid can be spread over several files, disks or hosts:
+ *
+ *     offset  size  field
+ *          0     4  magic "PYRB"
+ *          4     2  format version (1)
+ *          6     2  cell width in bytes: 1, 2 or 4 (signed)
+ *          8     4  number of rows of the whole pyramid
+ *         12     4  first row of the band
+ *         16     4  end row of the band (exclusive)
+ *         20     4  reserved, 0
+ *         24     -  cells of the band's rows, first row first, as in the pyramid file
+ */
+public final class BinaryPyramidFormat {
+
+    public static final int MAGIC = 0x4D525950; // "PYRM" read as a little-endian int
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int BAND_MAGIC = 0x42525950; // "PYRB"
+    public static final int BAND_HEADER_SIZE = 24;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryPyramidFormat() {
+    }
+
+    /**
+     * Smallest supported cell width able to hold every value in {@code [min, max]}.
+     */
+    public static int cellWidthFor(long min, long max) {
+        if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+            return Byte.BYTES;
+        }
+        if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+            return Short.BYTES;
+        }
+        return Integer.BYTES;
+    }
+
+    /**
+     * Total file size of a pyramid with the given shape.
+     */
+    public static long fileSize(int rows, int cellWidth) {
+        return HEADER_SIZE + PackedPyramid.cellCount(rows) * cellWidth;
+    }
+
+    /**
+     * Writes the header at the buffer's position, which must use {@link #BYTE_ORDER}.
+     */
+    public static void writeHeader(ByteBuffer buffer, int rows, int cellWidth) {
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) cellWidth)
+                .putInt(rows)
+                .putInt(0);
+    }
+
+    /**
+     * Reads and validates the header at the buffer's position, which must use {@link #BYTE_ORDER}.
+     */
+    public static Header readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("Not a pyramid file: shorter than the " + HEADER_SIZE + " byte header");
+        }
+        final int magic = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a pyramid file: bad magic 0x" + Integer.toHexString(magic));
+        }
+        final short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported pyramid file version " + version);
+        }
+        final int cellWidth = buffer.getShort();
+        if (cellWidth != Byte.BYTES && cellWidth != Short.BYTES && cellWidth != Integer.BYTES) {
+            throw new IOException("Unsupported cell width " + cellWidth);
+        }
+        final int rows = buffer.getInt();
+        if (rows < 0) {
+            throw new IOException("Negative row count " + rows);
+        }
+        buffer.getInt(); // reserved
+        return new Header(rows, cellWidth);
+    }
+
+    /**
+     * Writes a band file header at the buffer's position, which must use {@link #BYTE_ORDER}.
+     */
+    public static void writeBandHeader(ByteBuffer buffer, BandHeader band) {
+        buffer.putInt(BAND_MAGIC)
+                .putShort(VERSION)
+                .putShort((short) band.cellWidth())
+                .putInt(band.rows())
+                .putInt(band.firstRow())
+                .putInt(band.endRow())
+                .putInt(0);
+    }
+
+    /**
+     * Reads and validates a band file header at the buffer's position, which must use {@link #BYTE_ORDER}.
+     */
+    public static BandHeader readBandHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < BAND_HEADER_SIZE) {
+            throw new IOException("Not a pyramid band file: shorter than the " + BAND_HEADER_SIZE + " byte header");
+        }
+        final int magic = buffer.getInt();
+        if (magic != BAND_MAGIC) {
+            throw new IOException("Not a pyramid band file: bad magic 0x" + Integer.toHexString(magic));
+        }
+        final short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported pyramid band file version " + version);
+        }
+        final int cellWidth = buffer.getShort();
+        if (cellWidth != Byte.BYTES && cellWidth != Short.BYTES && cellWidth != Integer.BYTES) {
+            throw new IOException("Unsupported cell width " + cellWidth);
+        }
+        final int rows = buffer.getInt();
+        final int firstRow = buffer.getInt();
+        final int endRow = buffer.getInt();
+        if (firstRow < 0 || firstRow >= endRow || endRow > rows) {
+            throw new IOException("Invalid band [" + firstRow + ", " + endRow + ") of " + rows + " rows");
+        }
+        buffer.getInt(); // reserved
+        return new BandHeader(rows, cellWidth, firstRow, endRow);
+    }
+
+    /**
+     * Shape of a pyramid file as declared by its header.
+     */
+    public record Header(int rows, int cellWidth) {
+
+        public long cellCount() {
+            return PackedPyramid.cellCount(rows);
+        }
+
+        public long fileSize() {
+            return BinaryPyramidFormat.fileSize(rows, cellWidth);
+        }
+    }
+
+    /**
+     * Shape of a band file as declared by its header: rows {@code [firstRow, endRow)} of a
+     * pyramid with {@code rows} rows.
+     */
+    public record BandHeader(int rows, int cellWidth, int firstRow, int endRow) {
+
+        /**
+         * Cells in the band's first row.
+         */
+        public int firstRowLength() {
+            return rows - firstRow;
+        }
+
+        public int bandRows() {
+            return endRow - firstRow;
+        }
+
+        public long cellCount() {
+            return PackedPyramid.rowOffset(rows, endRow) - PackedPyramid.rowOffset(rows, firstRow);
+        }
+
+        public long fileSize() {
+            return BAND_HEADER_SIZE + cellCount() * cellWidth;
+        }
+    }
+}
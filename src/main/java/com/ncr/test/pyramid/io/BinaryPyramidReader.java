@@ -0,0 +1,98 @@
+package com.ncr.test.pyramid.io;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Loads pyramids saved by {@link BinaryPyramidWriter}.
+ */
+public class BinaryPyramidReader {
+
+    /**
+     * Maps the file read-only and returns a pyramid backed by the mapping.
+     * This costs a header read and a few {@code mmap} calls, whatever the file size;
+     * the mapping stays valid after this method returns.
+     */
+    public MappedPyramid map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            final BinaryPyramidFormat.Header header = readHeader(channel);
+
+            final long size = header.fileSize();
+            final long segmentSize = 1L << MappedPyramid.SEGMENT_SHIFT;
+            final ByteBuffer[] segments = new ByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+            for (int i = 0; i < segments.length; i++) {
+                final long start = i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, size - start))
+                        .order(BinaryPyramidFormat.BYTE_ORDER);
+            }
+            return new MappedPyramid(header.rows(), header.cellWidth(), segments);
+        }
+    }
+
+    /**
+     * Reads the whole file into a {@link PackedPyramid} on the heap.
+     */
+    public PackedPyramid read(Path file) throws IOException {
+        final MappedPyramid mapped = map(file);
+        if (mapped.getRows() > PackedPyramid.MAX_ROWS) {
+            throw new IOException("Pyramid with " + mapped.getRows() + " rows does not fit on the heap, use map()");
+        }
+        return PackedPyramid.of(mapped);
+    }
+
+    /**
+     * Decodes a pyramid held in memory, e.g. a received message, starting at the buffer's
+     * position. The position is left after the last cell; the byte order is ignored.
+     */
+    public PackedPyramid read(ByteBuffer buffer) throws IOException {
+        final ByteBuffer bytes = buffer.slice().order(BinaryPyramidFormat.BYTE_ORDER);
+        final BinaryPyramidFormat.Header header = BinaryPyramidFormat.readHeader(bytes);
+        if (header.rows() > PackedPyramid.MAX_ROWS) {
+            throw new IOException("Pyramid with " + header.rows() + " rows does not fit on the heap");
+        }
+        if (buffer.remaining() < header.fileSize()) {
+            throw new IOException("Truncated pyramid: " + header.rows() + " rows need "
+                    + header.fileSize() + " bytes, got " + buffer.remaining());
+        }
+        final PackedPyramid pyramid = PackedPyramid.allocate(header.rows());
+        final int[] cells = pyramid.getCells();
+        switch (header.cellWidth()) {
+            case Byte.BYTES -> {
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = bytes.get();
+                }
+            }
+            case Short.BYTES -> {
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = bytes.getShort();
+                }
+            }
+            default -> bytes.asIntBuffer().get(cells);
+        }
+        buffer.position(buffer.position() + (int) header.fileSize());
+        return pyramid;
+    }
+
+    private static BinaryPyramidFormat.Header readHeader(FileChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BinaryPyramidFormat.HEADER_SIZE)
+                .order(BinaryPyramidFormat.BYTE_ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        final BinaryPyramidFormat.Header header = BinaryPyramidFormat.readHeader(buffer);
+        if (channel.size() < header.fileSize()) {
+            throw new IOException("Truncated pyramid file: " + header.rows() + " rows need "
+                    + header.fileSize() + " bytes, file has " + channel.size());
+        }
+        return header;
+    }
+}
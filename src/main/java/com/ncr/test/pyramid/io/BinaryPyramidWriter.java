@@ -0,0 +1,147 @@
+package com.ncr.test.pyramid.io;
+
+import com.ncr.test.pyramid.data.Pyramid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Saves any {@link Pyramid} in the {@link BinaryPyramidFormat}.
+ * <p>
+ * The pyramid is read row by row through {@link Pyramid#copyRow(int, int[])},
+ * so memory use stays at one row plus the output buffer whatever the pyramid size.
+ */
+public class BinaryPyramidWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes the pyramid using the narrowest cell width that holds all of its values.
+     */
+    public void write(Pyramid pyramid, Path file) throws IOException {
+        write(pyramid, file, narrowestCellWidth(pyramid));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code cellWidth} is not 1, 2 or 4, before the file is touched,
+     *                                  or if a value does not fit into {@code cellWidth} bytes
+     */
+    public void write(Pyramid pyramid, Path file, int cellWidth) throws IOException {
+        checkCellWidth(cellWidth);
+        try (FileChannel channel = FileChannel.open(file, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            write(pyramid, channel, cellWidth);
+        }
+    }
+
+    /**
+     * Writes header and cells to the channel, which is left open.
+     *
+     * @throws IllegalArgumentException if {@code cellWidth} is not 1, 2 or 4, before anything is written,
+     *                                  or if a value does not fit into {@code cellWidth} bytes
+     */
+    public void write(Pyramid pyramid, WritableByteChannel channel, int cellWidth) throws IOException {
+        checkCellWidth(cellWidth);
+        final int rows = pyramid.getRows();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryPyramidFormat.BYTE_ORDER);
+        BinaryPyramidFormat.writeHeader(buffer, rows, cellWidth);
+        writeRows(pyramid, 0, rows, cellWidth, buffer, channel);
+    }
+
+    /**
+     * Writes rows {@code [firstRow, endRow)} of the pyramid as a band file, see {@link BinaryPyramidFormat}.
+     *
+     * @throws IllegalArgumentException if the band or {@code cellWidth} is invalid, before the file is touched,
+     *                                  or if a value does not fit into {@code cellWidth} bytes
+     */
+    public void writeBand(Pyramid pyramid, int firstRow, int endRow, Path file, int cellWidth) throws IOException {
+        final int rows = pyramid.getRows();
+        if (firstRow < 0 || firstRow >= endRow || endRow > rows) {
+            throw new IllegalArgumentException("Invalid band [" + firstRow + ", " + endRow + ") of " + rows + " rows");
+        }
+        checkCellWidth(cellWidth);
+        try (FileChannel channel = FileChannel.open(file, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryPyramidFormat.BYTE_ORDER);
+            BinaryPyramidFormat.writeBandHeader(buffer,
+                    new BinaryPyramidFormat.BandHeader(rows, cellWidth, firstRow, endRow));
+            writeRows(pyramid, firstRow, endRow, cellWidth, buffer, channel);
+        }
+    }
+
+    /**
+     * Narrowest {@link BinaryPyramidFormat} cell width for the values of the pyramid.
+     */
+    public static int narrowestCellWidth(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        final int[] row = new int[rows];
+        int min = 0;
+        int max = 0;
+        for (int r = 0; r < rows; r++) {
+            final int length = pyramid.getRowLength(r);
+            pyramid.copyRow(r, row);
+            for (int col = 0; col < length; col++) {
+                min = Math.min(min, row[col]);
+                max = Math.max(max, row[col]);
+            }
+        }
+        return BinaryPyramidFormat.cellWidthFor(min, max);
+    }
+
+    private static void writeRows(Pyramid pyramid, int firstRow, int endRow, int cellWidth,
+                                  ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        final int[] row = new int[pyramid.getRows()];
+        for (int r = firstRow; r < endRow; r++) {
+            final int length = pyramid.getRowLength(r);
+            pyramid.copyRow(r, row);
+            for (int col = 0; col < length; col++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    drain(buffer, channel);
+                }
+                putCell(buffer, row[col], cellWidth, r, col);
+            }
+        }
+        drain(buffer, channel);
+    }
+
+    private static void checkCellWidth(int cellWidth) {
+        if (cellWidth != Byte.BYTES && cellWidth != Short.BYTES && cellWidth != Integer.BYTES) {
+            throw new IllegalArgumentException("Unsupported cell width " + cellWidth);
+        }
+    }
+
+    private static void putCell(ByteBuffer buffer, int value, int cellWidth, int row, int col) {
+        switch (cellWidth) {
+            case Byte.BYTES -> {
+                checkRange(value, Byte.MIN_VALUE, Byte.MAX_VALUE, cellWidth, row, col);
+                buffer.put((byte) value);
+            }
+            case Short.BYTES -> {
+                checkRange(value, Short.MIN_VALUE, Short.MAX_VALUE, cellWidth, row, col);
+                buffer.putShort((short) value);
+            }
+            case Integer.BYTES -> buffer.putInt(value);
+            default -> throw new IllegalArgumentException("Unsupported cell width " + cellWidth);
+        }
+    }
+
+    private static void checkRange(int value, int min, int max, int cellWidth, int row, int col) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException("Value " + value + " at [" + row + "," + col
+                    + "] does not fit into " + cellWidth + " byte cells");
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
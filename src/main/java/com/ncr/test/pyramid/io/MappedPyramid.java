@@ -0,0 +1,97 @@
+package com.ncr.test.pyramid.io;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Pyramid read straight from a memory-mapped {@link BinaryPyramidFormat} file.
+ * <p>
+ * Nothing is copied onto the heap: cells are decoded from the mapping on every access,
+ * and the operating system pages the file in as it is read. A single mapping is limited
+ * to 2 GB, so the file is covered by consecutive segments of {@code 2^SEGMENT_SHIFT}
+ * bytes. Segment boundaries are multiples of every cell width, so no cell straddles two
+ * segments.
+ * <p>
+ * Obtain instances from {@link BinaryPyramidReader#map(java.nio.file.Path)}.
+ */
+public class MappedPyramid extends Pyramid {
+
+    static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final ByteBuffer[] segments;
+    private final int cellWidth;
+
+    MappedPyramid(int rows, int cellWidth, ByteBuffer[] segments) {
+        super(rows);
+        this.cellWidth = cellWidth;
+        this.segments = segments;
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    @Override
+    public int get(int row, int col) {
+        final long position = cellPosition(row, col);
+        return read(segments[(int) (position >>> SEGMENT_SHIFT)], (int) (position & SEGMENT_MASK));
+    }
+
+    @Override
+    public int[] copyRow(int row, int[] target) {
+        final int length = getRowLength(row);
+        long position = cellPosition(row, 0);
+        int col = 0;
+        while (col < length) {
+            final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+            int index = (int) (position & SEGMENT_MASK);
+            // Cells of this row which are still inside the current segment
+            final int end = Math.min(length, col + (segment.limit() - index) / cellWidth);
+            switch (cellWidth) {
+                case Byte.BYTES -> {
+                    for (; col < end; col++, index++) {
+                        target[col] = segment.get(index);
+                    }
+                }
+                case Short.BYTES -> {
+                    for (; col < end; col++, index += Short.BYTES) {
+                        target[col] = segment.getShort(index);
+                    }
+                }
+                default -> {
+                    for (; col < end; col++, index += Integer.BYTES) {
+                        target[col] = segment.getInt(index);
+                    }
+                }
+            }
+            position = cellPosition(row, col);
+        }
+        return target;
+    }
+
+    @Override
+    public int[][] getData() {
+        final int rows = getRows();
+        final int[][] data = new int[rows][];
+        for (int row = 0; row < rows; row++) {
+            data[row] = copyRow(row, new int[getRowLength(row)]);
+        }
+        return data;
+    }
+
+    private long cellPosition(int row, int col) {
+        return BinaryPyramidFormat.HEADER_SIZE
+                + (PackedPyramid.rowOffset(getRows(), row) + col) * cellWidth;
+    }
+
+    private int read(ByteBuffer segment, int index) {
+        return switch (cellWidth) {
+            case Byte.BYTES -> segment.get(index);
+            case Short.BYTES -> segment.getShort(index);
+            default -> segment.getInt(index);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.ncr.test.pyramid.io;
+
+import java.io.IOException;
+
+/**
+ * Malformed pyramid text, with the position where parsing stopped.
+ */
+public class PyramidFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int row;
+    private final int column;
+    private final long offset;
+
+    /**
+     * @param row    pyramid row (0-based, blank lines not counted)
+     * @param column cell index within the row (0-based)
+     * @param offset byte offset in the input
+     */
+    public PyramidFormatException(String message, int row, int column, long offset) {
+        super("Row " + row + ", column " + column + " (byte " + offset + "): " + message);
+        this.row = row;
+        this.column = column;
+        this.offset = offset;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+}
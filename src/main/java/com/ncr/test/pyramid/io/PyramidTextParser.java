@@ -0,0 +1,336 @@
+package com.ncr.test.pyramid.io;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Loads pyramids from text, in either of two formats:
+ * <ul>
+ *   <li>bracketed, as printed by {@link Pyramid#toString()}: {@code [00059] [00207] ...},
+ *       rows indented by any amount of whitespace;
+ *   <li>plain: whitespace separated integers, one row per line.
+ * </ul>
+ * The format is picked from the first cell; mixing both is an error. Row 0 is the widest
+ * row and fixes the row count, every following row must be one cell shorter. Blank lines
+ * are skipped, {@code \r\n} line ends are accepted, and values may carry a sign.
+ * <p>
+ * Bytes are decoded by a small state machine straight from {@link ByteBuffer}s, without
+ * {@code String} or {@code Reader} objects in between, and the cells go directly into the
+ * result pyramid. Channels are read in {@link #BUFFER_SIZE} chunks, so memory use beyond
+ * the pyramid itself stays constant. Malformed input raises a {@link PyramidFormatException}
+ * with the row and column of the offending cell.
+ * <p>
+ * When the input length is known (buffers, files and other seekable channels), the row
+ * count given by row 0 is checked against it before the pyramid is allocated: every other
+ * cell takes at least a digit and a separator, so a short input with a wide first row is
+ * rejected instead of allocating {@code rows * (rows + 1) / 2} cells it cannot fill.
+ * <p>
+ * Instances keep no state between calls and may be shared.
+ */
+public class PyramidTextParser {
+
+    /**
+     * Representation of the parsed pyramid.
+     */
+    public enum Layout {
+        /** {@link PackedPyramid}, one {@code int[]} of all cells */
+        PACKED,
+        /** array-backed {@link Pyramid} with one {@code int[]} per row */
+        JAGGED
+    }
+
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private final Layout layout;
+
+    public PyramidTextParser() {
+        this(Layout.PACKED);
+    }
+
+    public PyramidTextParser(Layout layout) {
+        this.layout = layout;
+    }
+
+    public Pyramid read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            return read(channel);
+        }
+    }
+
+    /**
+     * Reads the channel to its end.
+     */
+    public Pyramid read(ReadableByteChannel channel) throws IOException {
+        final long length = channel instanceof SeekableByteChannel seekable
+                ? seekable.size() - seekable.position()
+                : -1;
+        final Parse parse = new Parse(layout, length);
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            parse.feed(buffer);
+            buffer.clear();
+        }
+        return parse.finish();
+    }
+
+    /**
+     * Parses the remaining bytes of the buffer, leaving its position unchanged.
+     */
+    public Pyramid parse(ByteBuffer text) throws PyramidFormatException {
+        final Parse parse = new Parse(layout, text.remaining());
+        parse.feed(text);
+        return parse.finish();
+    }
+
+    /**
+     * State of one parse; chunks may split a cell or a line anywhere.
+     */
+    private static final class Parse {
+
+        private static final int UNKNOWN = 0;
+        private static final int BRACKETED = 1;
+        private static final int PLAIN = 2;
+
+        private static final long INT_LIMIT = 1L << 31;
+
+        private final Layout layout;
+        /** input length in bytes, -1 if unknown */
+        private final long length;
+
+        private int format = UNKNOWN;
+        /** row count, -1 until row 0 has been read */
+        private int rows = -1;
+        private int row;
+        private int col;
+        /** bytes fed before the current chunk */
+        private long consumed;
+
+        private boolean inCell;
+        private boolean signed;
+        private boolean negative;
+        private int digits;
+        private long value;
+
+        /** row 0, growing until its end fixes the row count */
+        private int[] firstRow = new int[256];
+        /** where the current row goes */
+        private int[] target;
+        private int targetOffset;
+        private PackedPyramid packed;
+        private int[][] data;
+
+        Parse(Layout layout, long length) {
+            this.layout = layout;
+            this.length = length;
+        }
+
+        void feed(ByteBuffer buffer) throws PyramidFormatException {
+            if (buffer.hasArray()) {
+                final int base = buffer.arrayOffset();
+                feed(buffer.array(), base + buffer.position(), base + buffer.limit());
+                return;
+            }
+            // Direct and mapped buffers are copied out in chunks, array access is faster
+            final byte[] chunk = new byte[Math.min(BUFFER_SIZE, buffer.remaining())];
+            for (int from = buffer.position(); from < buffer.limit(); from += chunk.length) {
+                final int length = Math.min(chunk.length, buffer.limit() - from);
+                buffer.get(from, chunk, 0, length);
+                feed(chunk, 0, length);
+            }
+        }
+
+        private void feed(byte[] bytes, int start, int limit) throws PyramidFormatException {
+            for (int i = start; i < limit; i++) {
+                byte b = bytes[i];
+                if (b >= '0' && b <= '9') {
+                    if (!inCell) {
+                        if (format == BRACKETED) {
+                            throw error("expected '[' before a value", i - start);
+                        }
+                        format = PLAIN;
+                        beginCell(i - start);
+                    }
+                    // Take the whole run of digits in locals
+                    long v = value;
+                    int n = digits;
+                    do {
+                        v = v * 10 + (b - '0');
+                        n++;
+                        if (v > INT_LIMIT) {
+                            throw error("value out of int range", i - start);
+                        }
+                        if (++i == limit) {
+                            break;
+                        }
+                        b = bytes[i];
+                    } while (b >= '0' && b <= '9');
+                    value = v;
+                    digits = n;
+                    if (i == limit) {
+                        break;
+                    }
+                }
+                switch (b) {
+                    case ' ', '\t', '\r' -> endToken(i - start);
+                    case '\n' -> {
+                        endToken(i - start);
+                        endLine(i - start);
+                    }
+                    case '[' -> {
+                        if (format == PLAIN) {
+                            throw error("'[' in a pyramid of plain numbers", i - start);
+                        }
+                        if (inCell) {
+                            throw error("expected ']'", i - start);
+                        }
+                        format = BRACKETED;
+                        beginCell(i - start);
+                    }
+                    case ']' -> {
+                        if (!inCell || format != BRACKETED) {
+                            throw error("unexpected ']'", i - start);
+                        }
+                        endCell(i - start);
+                    }
+                    case '-', '+' -> {
+                        if (format != BRACKETED) {
+                            if (inCell) {
+                                throw error("unexpected sign", i - start);
+                            }
+                            format = PLAIN;
+                            beginCell(i - start);
+                        } else if (!inCell || signed || digits > 0) {
+                            throw error("unexpected sign", i - start);
+                        }
+                        signed = true;
+                        negative = b == '-';
+                    }
+                    default -> throw error("unexpected character 0x" + Integer.toHexString(b & 0xFF), i - start);
+                }
+            }
+            consumed += limit - start;
+        }
+
+        Pyramid finish() throws PyramidFormatException {
+            endToken(0);
+            endLine(0);
+            if (rows < 0) {
+                return layout == Layout.PACKED ? PackedPyramid.allocate(0) : new Pyramid(new int[0][]);
+            }
+            if (row < rows) {
+                throw error("expected " + rows + " rows, input ends after " + row, 0);
+            }
+            return layout == Layout.PACKED ? packed : new Pyramid(data);
+        }
+
+        private void beginCell(int index) throws PyramidFormatException {
+            if (row == rows) {
+                throw error("content after the last row", index);
+            }
+            inCell = true;
+            signed = false;
+            negative = false;
+            digits = 0;
+            value = 0;
+        }
+
+        /**
+         * Whitespace: ends a plain value, is not allowed inside brackets.
+         */
+        private void endToken(int index) throws PyramidFormatException {
+            if (inCell) {
+                if (format == BRACKETED) {
+                    throw error("expected ']'", index);
+                }
+                endCell(index);
+            }
+        }
+
+        private void endCell(int index) throws PyramidFormatException {
+            if (digits == 0) {
+                throw error("expected a digit", index);
+            }
+            if (!negative && value == INT_LIMIT) {
+                throw error("value out of int range", index);
+            }
+            inCell = false;
+            final int cell = (int) (negative ? -value : value);
+            if (rows < 0) {
+                if (col == firstRow.length) {
+                    if (col == PackedPyramid.MAX_ROWS) {
+                        throw error("more than " + PackedPyramid.MAX_ROWS + " cells in the first row", index);
+                    }
+                    firstRow = Arrays.copyOf(firstRow, Math.min(2 * col, PackedPyramid.MAX_ROWS));
+                }
+                firstRow[col++] = cell;
+            } else {
+                if (col == rows - row) {
+                    throw error("more than " + (rows - row) + " cells in the row", index);
+                }
+                target[targetOffset + col++] = cell;
+            }
+        }
+
+        private void endLine(int index) throws PyramidFormatException {
+            if (col == 0) {
+                return;
+            }
+            if (rows < 0) {
+                rows = col;
+                checkLength(index);
+                if (layout == Layout.PACKED) {
+                    packed = PackedPyramid.allocate(rows);
+                    System.arraycopy(firstRow, 0, packed.getCells(), 0, rows);
+                } else {
+                    data = new int[rows][];
+                    data[0] = Arrays.copyOf(firstRow, rows);
+                }
+                firstRow = null;
+            } else if (col != rows - row) {
+                throw error("expected " + (rows - row) + " cells, found " + col, index);
+            }
+            row++;
+            col = 0;
+            if (row < rows) {
+                if (layout == Layout.PACKED) {
+                    target = packed.getCells();
+                    targetOffset = packed.rowOffset(row);
+                } else {
+                    target = data[row] = new int[rows - row];
+                }
+            }
+        }
+
+        /**
+         * Rejects a row count the rest of the input is too short for, before allocating.
+         * The cells after row 0 need a digit each and a separator between two of them.
+         */
+        private void checkLength(int index) throws PyramidFormatException {
+            final long cells = PackedPyramid.cellCount(rows) - rows;
+            if (length < 0 || cells == 0) {
+                return;
+            }
+            final long offset = consumed + index;
+            final long left = Math.max(0, length - offset - 1);
+            if (left < 2 * cells - 1) {
+                throw new PyramidFormatException("expected " + rows + " rows, " + left
+                        + " bytes left cannot hold the other " + cells + " cells", 1, 0, offset);
+            }
+        }
+
+        private PyramidFormatException error(String message, int index) {
+            return new PyramidFormatException(message, row, col, consumed + index);
+        }
+    }
+}
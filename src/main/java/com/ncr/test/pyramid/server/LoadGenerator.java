@@ -0,0 +1,171 @@
+package com.ncr.test.pyramid.server;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.impl.ParallelPyramidGenerator;
+import com.ncr.test.pyramid.io.BinaryPyramidWriter;
+import com.ncr.test.pyramid.utils.ThreadPools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Client sending a fixed number of solve requests to a {@link PyramidServer} from
+ * {@code concurrency} threads at once, and reporting throughput and latency percentiles.
+ * <p>
+ * Usage: {@code LoadGenerator [url] [concurrency] [requests] [rows] [binary|text]}, by
+ * default {@code http://localhost:8080/solve 32 10000 100 binary}. The bodies are a few
+ * pyramids generated up front, sent in turn; rejected requests (503) are counted but not
+ * retried.
+ */
+public class LoadGenerator {
+
+    private static final int DISTINCT_PYRAMIDS = 16;
+
+    /**
+     * Outcome of a run; latencies are those of successful requests, in nanoseconds.
+     */
+    public record Report(int requests, long ok, long rejected, long failed, long elapsedNanos,
+                         long p50Nanos, long p99Nanos, long maxNanos) {
+
+        public double requestsPerSecond() {
+            return elapsedNanos == 0 ? 0 : ok * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%d requests: %d ok, %d rejected, %d failed in %.2f s, %.0f req/s, p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                    requests, ok, rejected, failed, elapsedNanos / 1e9, requestsPerSecond(),
+                    p50Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6);
+        }
+    }
+
+    private final URI target;
+    private final int concurrency;
+    private final List<byte[]> bodies;
+
+    /**
+     * @param binary send {@link com.ncr.test.pyramid.io.BinaryPyramidFormat} bodies, otherwise plain text rows
+     */
+    public LoadGenerator(URI target, int concurrency, int rows, boolean binary) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.target = target;
+        this.concurrency = concurrency;
+        this.bodies = IntStream.range(0, DISTINCT_PYRAMIDS)
+                .mapToObj(seed -> new ParallelPyramidGenerator(rows, 1000, seed).generatePyramid())
+                .map(pyramid -> binary ? binaryBody(pyramid) : textBody(pyramid))
+                .toList();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        final URI target = URI.create(args.length > 0 ? args[0] : "http://localhost:" + PyramidServer.DEFAULT_PORT + "/solve");
+        final int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        final int requests = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        final int rows = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        final boolean binary = args.length <= 4 || !"text".equals(args[4]);
+
+        System.out.println(new LoadGenerator(target, concurrency, rows, binary).run(requests));
+    }
+
+    public Report run(int requests) throws InterruptedException {
+        final long[] latencies = new long[requests];
+        Arrays.fill(latencies, -1);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+
+        final ExecutorService clients = ThreadPools.newVirtualThreadPerTaskExecutor(concurrency, "load");
+        final HttpClient http = HttpClient.newHttpClient();
+        final long start = System.nanoTime();
+        try {
+            final Future<?>[] futures = new Future<?>[concurrency];
+            for (int c = 0; c < concurrency; c++) {
+                futures[c] = clients.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        final HttpRequest request = HttpRequest.newBuilder(target)
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(bodies.get(index % bodies.size())))
+                                .build();
+                        final long sent = System.nanoTime();
+                        try {
+                            final int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 200) {
+                                latencies[index] = System.nanoTime() - sent;
+                            } else if (status == 503) {
+                                rejected.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load client failed", e.getCause());
+        } finally {
+            clients.shutdownNow();
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        final long[] ok = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        return new Report(requests, ok.length, rejected.get(), failed.get(), elapsed,
+                percentile(ok, 0.50), percentile(ok, 0.99), ok.length == 0 ? 0 : ok[ok.length - 1]);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private static byte[] binaryBody(PackedPyramid pyramid) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            new BinaryPyramidWriter().write(pyramid, Channels.newChannel(out),
+                    BinaryPyramidWriter.narrowestCellWidth(pyramid));
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] textBody(PackedPyramid pyramid) {
+        final StringBuilder sb = new StringBuilder();
+        final int rows = pyramid.getRows();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < rows - row; col++) {
+                if (col > 0) {
+                    sb.append(' ');
+                }
+                sb.append(pyramid.get(row, col));
+            }
+            sb.append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
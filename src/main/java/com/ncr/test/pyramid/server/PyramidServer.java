@@ -0,0 +1,204 @@
+package com.ncr.test.pyramid.server;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.io.BinaryPyramidFormat;
+import com.ncr.test.pyramid.io.BinaryPyramidReader;
+import com.ncr.test.pyramid.io.PyramidTextParser;
+import com.ncr.test.pyramid.solver.PyramidSolution;
+import com.ncr.test.pyramid.utils.ThreadPools;
+import com.ncr.test.pyramid.utils.Util;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Solver service over HTTP, built on the JDK {@link HttpServer}.
+ * <p>
+ * Endpoints:
+ * <ul>
+ *   <li>{@code POST /solve[?path=true]}: the body is a pyramid in {@link BinaryPyramidFormat}
+ *       (recognized by its magic number) or in a text format read by {@link PyramidTextParser}.
+ *       The answer is {@code {"rows":4,"total":353}}, plus {@code "path"} and {@code "moves"}
+ *       (see {@link PyramidSolution}) when the path was asked for.
+ *   <li>{@code GET /stats}: queue and batching counters.
+ * </ul>
+ * Requests are read and parsed on a virtual thread each (a thread pool before Java 21, see
+ * {@link ThreadPools}) and solved by a {@link SolveBatcher}. When its queue is full the
+ * server answers {@code 503} with {@code Retry-After} instead of accepting more work.
+ * Malformed pyramids get {@code 400}, bodies over the size limit {@code 413}.
+ */
+public class PyramidServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BODY_BYTES = 64 << 20;
+
+    static final int MAX_BATCH_SIZE = 64;
+    static final long MAX_BATCH_CELLS = 1 << 20;
+
+    private static final int FALLBACK_REQUEST_THREADS = 64;
+
+    private final HttpServer server;
+    private final ExecutorService requestThreads;
+    private final SolveBatcher batcher;
+    private final int maxBodyBytes;
+    private final PyramidTextParser textParser = new PyramidTextParser();
+    private final BinaryPyramidReader binaryReader = new BinaryPyramidReader();
+
+    /**
+     * Binds to {@code port} (0 for any free port) with one worker per processor and the default limits.
+     */
+    public PyramidServer(int port) throws IOException {
+        this(port, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BODY_BYTES);
+    }
+
+    public PyramidServer(int port, int workers, int queueCapacity, int maxBodyBytes) throws IOException {
+        this(port, new SolveBatcher(workers, queueCapacity, MAX_BATCH_SIZE, MAX_BATCH_CELLS), maxBodyBytes);
+    }
+
+    PyramidServer(int port, SolveBatcher batcher, int maxBodyBytes) throws IOException {
+        this.batcher = batcher;
+        this.maxBodyBytes = maxBodyBytes;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.requestThreads = ThreadPools.newVirtualThreadPerTaskExecutor(FALLBACK_REQUEST_THREADS, "pyramid-http");
+        server.setExecutor(requestThreads);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    public static void main(String[] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        final PyramidServer server = new PyramidServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.println("Pyramid solver listening on http://localhost:" + server.getPort() + "/solve");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        batcher.close();
+        requestThreads.shutdownNow();
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                send(exchange, 405, error("Use POST"));
+                return;
+            }
+            final byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                send(exchange, 413, error("Body larger than " + maxBodyBytes + " bytes"));
+                return;
+            }
+            final Pyramid pyramid;
+            try {
+                pyramid = parse(body);
+            } catch (IOException e) {
+                send(exchange, 400, error(e.getMessage()));
+                return;
+            }
+            final boolean withPath = wantsPath(exchange.getRequestURI().getQuery());
+            final CompletableFuture<SolveBatcher.Result> result = batcher.submit(pyramid, withPath);
+            if (result == null) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, error("Too many pending requests"));
+                return;
+            }
+            try {
+                send(exchange, 200, json(pyramid.getRows(), result.get()));
+            } catch (ExecutionException | RuntimeException e) {
+                send(exchange, 500, error(String.valueOf(e.getCause() != null ? e.getCause() : e)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(exchange, 503, error("Interrupted"));
+            }
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final SolveBatcher.Stats stats = batcher.getStats();
+            send(exchange, 200, String.format(Locale.ROOT,
+                    "{\"accepted\":%d,\"rejected\":%d,\"batches\":%d,\"solved\":%d,\"queued\":%d,\"averageBatchSize\":%.2f}",
+                    stats.accepted(), stats.rejected(), stats.batches(), stats.solved(), stats.queued(),
+                    stats.averageBatchSize()));
+        }
+    }
+
+    private Pyramid parse(byte[] body) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(body);
+        if (body.length >= Integer.BYTES && buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0) == BinaryPyramidFormat.MAGIC) {
+            return binaryReader.read(buffer);
+        }
+        return textParser.parse(buffer);
+    }
+
+    /**
+     * @return the body, or {@code null} if it is larger than the limit
+     */
+    private byte[] readBody(InputStream in) throws IOException {
+        final byte[] body = in.readNBytes(maxBodyBytes);
+        if (body.length == maxBodyBytes && in.read() >= 0) {
+            return null;
+        }
+        return body;
+    }
+
+    private static boolean wantsPath(String query) {
+        if (query == null) {
+            return false;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.equals("path") || parameter.equals("path=true")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String json(int rows, SolveBatcher.Result result) {
+        final StringBuilder sb = new StringBuilder(64)
+                .append("{\"rows\":").append(rows)
+                .append(",\"total\":").append(result.total());
+        if (result.solution() != null) {
+            sb.append(",\"path\":\"").append(result.solution())
+                    .append("\",\"moves\":\"").append(result.solution().getMovesString()).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    static String error(String message) {
+        return "{\"error\":" + Util.jsonString(message) + "}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
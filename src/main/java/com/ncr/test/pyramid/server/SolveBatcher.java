@@ -0,0 +1,189 @@
+package com.ncr.test.pyramid.server;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolution;
+import com.ncr.test.pyramid.solver.impl.PathTrackingSolver;
+import com.ncr.test.pyramid.solver.impl.SolverContext;
+import com.ncr.test.pyramid.utils.ThreadPools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue of solve jobs drained in batches and solved in parallel by a fixed set of
+ * worker threads.
+ * <p>
+ * Request threads only parse and enqueue. A dispatcher thread woken by one job also takes
+ * whatever else is queued, up to {@code maxBatchSize} jobs or {@code maxBatchCells} cells,
+ * and spreads the batch over {@code workers} platform threads, each solving with its own
+ * warm {@link SolverContext}; a burst of small requests therefore costs one wake-up of the
+ * dispatcher per batch. A semaphore with one permit per worker hands each job of the batch
+ * to the next worker that is free, so a slow job holds up only its own worker and every
+ * other worker stays busy. A batch is only taken while a worker is free, so jobs wait in the
+ * bounded queue rather than in the executor, and when that queue is full
+ * {@link #submit(Pyramid, boolean)} fails at once instead of queueing more work than the
+ * workers can catch up with.
+ */
+class SolveBatcher implements AutoCloseable {
+
+    /**
+     * Answer to one job; {@code solution} is only set when the path was requested.
+     */
+    record Result(long total, PyramidSolution solution) {
+    }
+
+    /**
+     * Counters since start.
+     */
+    record Stats(long accepted, long rejected, long batches, long solved, int queued) {
+
+        double averageBatchSize() {
+            return batches == 0 ? 0 : (double) solved / batches;
+        }
+    }
+
+    private record Job(Pyramid pyramid, boolean withPath, CompletableFuture<Result> result) {
+    }
+
+    private final BlockingQueue<Job> queue;
+    private final int maxBatchSize;
+    private final long maxBatchCells;
+    private final ExecutorService dispatcher;
+    private final ExecutorService workers;
+    /** one permit per worker that is not solving a job */
+    private final Semaphore idleWorkers;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder solved = new LongAdder();
+    private volatile boolean closed;
+    private volatile List<Job> inFlight = List.of();
+
+    SolveBatcher(int workers, int queueCapacity, int maxBatchSize, long maxBatchCells) {
+        if (workers < 1 || queueCapacity < 1 || maxBatchSize < 1 || maxBatchCells < 1) {
+            throw new IllegalArgumentException("Workers, queue capacity and batch limits must be positive");
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchCells = maxBatchCells;
+        this.workers = ThreadPools.newFixedThreadPool(workers, "pyramid-solver");
+        this.idleWorkers = new Semaphore(workers);
+        this.dispatcher = ThreadPools.newFixedThreadPool(1, "pyramid-dispatcher");
+        this.dispatcher.execute(this::dispatch);
+    }
+
+    /**
+     * Queues a job.
+     *
+     * @return the future result, or {@code null} if the queue is full
+     */
+    CompletableFuture<Result> submit(Pyramid pyramid, boolean withPath) {
+        final Job job = new Job(pyramid, withPath, new CompletableFuture<>());
+        if (closed || !queue.offer(job)) {
+            rejected.increment();
+            return null;
+        }
+        accepted.increment();
+        return job.result();
+    }
+
+    Stats getStats() {
+        return new Stats(accepted.sum(), rejected.sum(), batches.sum(), solved.sum(), queue.size());
+    }
+
+    /**
+     * Solves one pyramid on a worker thread, with that thread's context.
+     */
+    Result solve(Pyramid pyramid, boolean withPath, SolverContext context) {
+        if (withPath) {
+            final PyramidSolution solution = new PathTrackingSolver().solve(pyramid);
+            return new Result(solution.getTotal(), solution);
+        }
+        return new Result(context.solve(pyramid), null);
+    }
+
+    private void dispatch() {
+        final List<Job> batch = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            try {
+                idleWorkers.acquire();
+                final Job first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    idleWorkers.release();
+                    continue;
+                }
+                batch.add(first);
+                long cells = PackedPyramid.cellCount(first.pyramid().getRows());
+                Job next;
+                while (batch.size() < maxBatchSize && cells < maxBatchCells && (next = queue.poll()) != null) {
+                    batch.add(next);
+                    cells += PackedPyramid.cellCount(next.pyramid().getRows());
+                }
+                batches.increment();
+                inFlight = List.copyOf(batch);
+                // The first job takes the permit acquired above, the others wait for a free worker
+                for (int i = 0; i < batch.size(); i++) {
+                    if (i > 0) {
+                        idleWorkers.acquire();
+                    }
+                    execute(batch.get(i));
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    private void execute(Job job) {
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            idleWorkers.release();
+            cancel(job);
+        }
+    }
+
+    private void run(Job job) {
+        try {
+            final Result result = solve(job.pyramid(), job.withPath(), SolverContext.forCurrentThread());
+            // Counted before the request thread can answer, so that /stats includes it
+            solved.increment();
+            job.result().complete(result);
+        } catch (RuntimeException | Error e) {
+            solved.increment();
+            job.result().completeExceptionally(e);
+        } finally {
+            idleWorkers.release();
+        }
+    }
+
+    /**
+     * Stops the dispatcher and the workers; jobs still queued or not yet solved are cancelled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+        inFlight.forEach(SolveBatcher::cancel);
+        Job job;
+        while ((job = queue.poll()) != null) {
+            cancel(job);
+        }
+    }
+
+    private static void cancel(Job job) {
+        job.result().completeExceptionally(new CancellationException("Server is shutting down"));
+    }
+}
@@ -0,0 +1,16 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+
+/**
+ *  Represents the API of a problem solver which also reports the maximal path.
+ *  Refer to {@link Pyramid} for problem description.
+ */
+public interface PyramidPathSolver extends PyramidSolver {
+    PyramidSolution solve(Pyramid pyramid);
+
+    @Override
+    default long pyramidMaximumTotal(Pyramid pyramid) {
+        return solve(pyramid).getTotal();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+
+import java.util.BitSet;
+
+/**
+ * Maximum path total together with the path reaching it.
+ * <p>
+ * A path starts at the single bottom cell [rows-1, 0] and takes one step per row.
+ * Each step goes either "left", straight up to (row-1, col), or "right", to
+ * (row-1, col+1). Steps are numbered from the bottom: step {@code i} leaves row
+ * {@code rows-1-i}, and bit {@code i} of {@link #getMoves()} is set for a right step.
+ * <p>
+ * For the pyramid in {@link Pyramid} the total is 353, the moves are "LLR" and the
+ * path is [03,00],[02,00],[01,00],[00,01].
+ */
+public final class PyramidSolution {
+    private final long total;
+    private final int rows;
+    private final BitSet moves;
+
+    /**
+     * @param moves bit {@code i} set when step {@code i} goes right; not copied
+     */
+    public PyramidSolution(long total, int rows, BitSet moves) {
+        this.total = total;
+        this.rows = rows;
+        this.moves = moves;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Number of cells on the path, equal to the number of pyramid rows.
+     */
+    public int getLength() {
+        return rows;
+    }
+
+    /**
+     * The moves as bits, one per step; see the class description.
+     */
+    public BitSet getMoves() {
+        return (BitSet) moves.clone();
+    }
+
+    /**
+     * The moves as a string of 'L' and 'R', first step first.
+     */
+    public String getMovesString() {
+        final StringBuilder sb = new StringBuilder(Math.max(0, rows - 1));
+        for (int step = 0; step < rows - 1; step++) {
+            sb.append(moves.get(step) ? 'R' : 'L');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Path coordinates as {@code {row, col}} pairs, from the bottom cell to the top row.
+     */
+    public int[][] getPath() {
+        final int[][] path = new int[rows][];
+        int col = 0;
+        for (int step = 0; step < rows; step++) {
+            if (step > 0 && moves.get(step - 1)) {
+                col++;
+            }
+            path[step] = new int[]{rows - 1 - step, col};
+        }
+        return path;
+    }
+
+    /**
+     * Formats the path like the {@link Pyramid} description: [03,00],[02,00],[01,00],[00,01]
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int[] cell : getPath()) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(String.format("[%02d,%02d]", cell[0], cell[1]));
+        }
+        return sb.toString();
+    }
+}
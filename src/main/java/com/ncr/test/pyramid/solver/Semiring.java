@@ -0,0 +1,30 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+
+/**
+ *  Represents how path values are combined over a {@link Pyramid}.
+ *  <p>
+ *  The value of a path is the {@link #times} product of the {@link #weight}s of its
+ *  cells, and the pyramid total is the {@link #plus} sum over all paths. The maximum
+ *  path total of {@link PyramidSolver} is the max-plus case: plus is max, times is +.
+ *  <p>
+ *  Implementations must make plus associative and commutative, times associative,
+ *  and times distribute over plus, so the total can be computed row by row.
+ */
+public interface Semiring {
+
+    /**
+     * Identity of {@link #plus}, the total of an empty set of paths.
+     */
+    long zero();
+
+    long plus(long a, long b);
+
+    long times(long a, long b);
+
+    /**
+     * Value a cell contributes to a path.
+     */
+    long weight(int cell);
+}
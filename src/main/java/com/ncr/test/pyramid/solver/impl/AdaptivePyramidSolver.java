@@ -0,0 +1,271 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.ParallelPyramidGenerator;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solver sending each pyramid to the strategy found fastest for its size class.
+ * <p>
+ * Pyramids are grouped by row count into the classes bounded by {@link #SIZE_CLASSES}.
+ * {@link #calibrate()} times every available {@link Strategy} on one generated pyramid per
+ * class and keeps the fastest; the choice can be saved as a properties file and loaded by
+ * later runs, so a deployment calibrates once per machine. The strategies do the same
+ * arithmetic whatever the cell values, so the value range plays no part in the choice.
+ * <p>
+ * The strategies are stateless or share the common pool, so the solver is thread-safe.
+ */
+public class AdaptivePyramidSolver implements PyramidSolver {
+
+    /**
+     * Exclusive upper row bounds of the size classes; the last class is unbounded.
+     */
+    public static final int[] SIZE_CLASSES = {16, 64, 256, 1024, 4096, Integer.MAX_VALUE};
+
+    /**
+     * Row count of the pyramid each class is calibrated on.
+     */
+    static final int[] CALIBRATION_ROWS = {12, 48, 192, 768, 3072, 8192};
+
+    static final Duration DEFAULT_BUDGET = Duration.ofMillis(25);
+
+    private static final long CALIBRATION_SEED = 25321L;
+    private static final int CALIBRATION_RANGE = 1_000_000;
+    // Parallel chunks smaller than the default, so mid-sized rows are split as well
+    private static final int PARALLEL_CHUNK_SIZE = 1024;
+    private static final int NAIVE_MAX_ROWS = 16;
+    private static final int WARM_UP_CLASS = 3;
+
+    /**
+     * Candidate implementations.
+     */
+    public enum Strategy {
+        /** exponential recursion, only allowed for classes of at most {@code NAIVE_MAX_ROWS} rows */
+        NAIVE,
+        YOUR,
+        PARALLEL,
+        /** available only when {@code jdk.incubator.vector} is in the boot layer */
+        VECTOR;
+
+        public boolean isAvailable() {
+            return this != VECTOR || ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        }
+
+        PyramidSolver create() {
+            // Referenced here only, so the Vector API classes load just when available
+            return switch (this) {
+                case NAIVE -> new NaivePyramidSolver();
+                case YOUR -> new YourSolver();
+                case PARALLEL -> new ParallelPyramidSolver(ForkJoinPool.commonPool(), PARALLEL_CHUNK_SIZE);
+                case VECTOR -> new VectorPyramidSolver();
+            };
+        }
+    }
+
+    private final Strategy[] strategies;
+    private final PyramidSolver[] solvers;
+
+    /**
+     * @param strategies one strategy per entry of {@link #SIZE_CLASSES}; unavailable ones fall back to YOUR
+     * @throws IllegalArgumentException if NAIVE is given for a class with pyramids of more than 16 rows
+     */
+    public AdaptivePyramidSolver(Strategy... strategies) {
+        if (strategies.length != SIZE_CLASSES.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + SIZE_CLASSES.length + " strategies, got " + strategies.length);
+        }
+        this.strategies = new Strategy[strategies.length];
+        this.solvers = new PyramidSolver[strategies.length];
+        for (int i = 0; i < strategies.length; i++) {
+            if (!isAllowed(strategies[i], i)) {
+                throw new IllegalArgumentException(naiveNotAllowed(i));
+            }
+            final Strategy strategy = strategies[i].isAvailable() ? strategies[i] : Strategy.YOUR;
+            this.strategies[i] = strategy;
+            this.solvers[i] = strategy.create();
+        }
+    }
+
+    /**
+     * Calibrates with the default time budget of 25 ms per strategy and class.
+     */
+    public static AdaptivePyramidSolver calibrate() {
+        return calibrate(DEFAULT_BUDGET);
+    }
+
+    /**
+     * Times each available strategy on a generated pyramid per size class. A strategy first
+     * runs on a mid-sized pyramid for {@code budget} so that its hot loops are compiled, then
+     * runs repeatedly on each class until {@code budget} is used up (at least twice), and
+     * its fastest run counts.
+     */
+    public static AdaptivePyramidSolver calibrate(Duration budget) {
+        final Pyramid[] pyramids = new Pyramid[SIZE_CLASSES.length];
+        for (int sizeClass = 0; sizeClass < pyramids.length; sizeClass++) {
+            pyramids[sizeClass] = new ParallelPyramidGenerator(
+                    CALIBRATION_ROWS[sizeClass], CALIBRATION_RANGE, CALIBRATION_SEED).generatePyramid();
+        }
+        final Strategy[] fastest = new Strategy[SIZE_CLASSES.length];
+        final long[] best = new long[SIZE_CLASSES.length];
+        Arrays.fill(best, Long.MAX_VALUE);
+        for (Strategy strategy : Strategy.values()) {
+            if (!strategy.isAvailable()) {
+                continue;
+            }
+            final PyramidSolver solver = strategy.create();
+            final int warmUpClass = strategy == Strategy.NAIVE ? 0 : WARM_UP_CLASS;
+            fastestRun(solver, pyramids[warmUpClass], budget.toNanos());
+            for (int sizeClass = 0; sizeClass < pyramids.length; sizeClass++) {
+                if (!isAllowed(strategy, sizeClass)) {
+                    continue;
+                }
+                final long nanos = fastestRun(solver, pyramids[sizeClass], budget.toNanos());
+                if (nanos < best[sizeClass]) {
+                    best[sizeClass] = nanos;
+                    fastest[sizeClass] = strategy;
+                }
+            }
+        }
+        return new AdaptivePyramidSolver(fastest);
+    }
+
+    private static long fastestRun(PyramidSolver solver, Pyramid pyramid, long budgetNanos) {
+        long checksum = solver.pyramidMaximumTotal(pyramid);
+        long best = Long.MAX_VALUE;
+        final long deadline = System.nanoTime() + budgetNanos;
+        for (int run = 0; run < 2 || System.nanoTime() < deadline; run++) {
+            final long start = System.nanoTime();
+            checksum += solver.pyramidMaximumTotal(pyramid);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (checksum == Long.MIN_VALUE) {
+            // Keeps the results alive; never true for the calibration pyramids
+            throw new IllegalStateException();
+        }
+        return best;
+    }
+
+    /**
+     * Loads a profile written by {@link #save(Path)}.
+     *
+     * @throws IOException if the file cannot be read or names an unknown strategy
+     */
+    public static AdaptivePyramidSolver load(Path profile) throws IOException {
+        return new AdaptivePyramidSolver(readProfile(profile).strategies());
+    }
+
+    /**
+     * Loads the profile if it exists and was calibrated with the current processor count,
+     * otherwise calibrates and saves a new one.
+     */
+    public static AdaptivePyramidSolver loadOrCalibrate(Path profile) throws IOException {
+        if (Files.exists(profile)) {
+            final Profile saved = readProfile(profile);
+            if (saved.processors() == Runtime.getRuntime().availableProcessors()) {
+                return new AdaptivePyramidSolver(saved.strategies());
+            }
+        }
+        final AdaptivePyramidSolver solver = calibrate();
+        solver.save(profile);
+        return solver;
+    }
+
+    /**
+     * Writes the strategy per size class along with the processor count it was chosen for.
+     */
+    public void save(Path profile) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty("processors", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            properties.setProperty(key(i), strategies[i].name());
+        }
+        try (Writer writer = Files.newBufferedWriter(profile)) {
+            properties.store(writer, "Pyramid solver calibration");
+        }
+    }
+
+    /**
+     * Strategy used for pyramids of the given row count.
+     */
+    public Strategy strategyFor(int rows) {
+        return strategies[sizeClass(rows)];
+    }
+
+    /**
+     * Solves with the strategy of the pyramid's size class, or returns 0 for an empty pyramid.
+     */
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
+        return solvers[sizeClass(rows)].pyramidMaximumTotal(pyramid);
+    }
+
+    static int sizeClass(int rows) {
+        int sizeClass = 0;
+        while (sizeClass < SIZE_CLASSES.length - 1 && rows >= SIZE_CLASSES[sizeClass]) {
+            sizeClass++;
+        }
+        return sizeClass;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePyramidSolver" + Arrays.toString(strategies);
+    }
+
+    /**
+     * NAIVE is exponential in the row count, so it only serves classes whose pyramids all
+     * have at most {@link #NAIVE_MAX_ROWS} rows.
+     */
+    private static boolean isAllowed(Strategy strategy, int sizeClass) {
+        return strategy != Strategy.NAIVE || SIZE_CLASSES[sizeClass] - 1 <= NAIVE_MAX_ROWS;
+    }
+
+    private static String naiveNotAllowed(int sizeClass) {
+        return "NAIVE is limited to " + NAIVE_MAX_ROWS + " rows, " + key(sizeClass) + " has larger pyramids";
+    }
+
+    private static String key(int sizeClass) {
+        return SIZE_CLASSES[sizeClass] == Integer.MAX_VALUE ? "rows.max" : "rows." + SIZE_CLASSES[sizeClass];
+    }
+
+    private record Profile(int processors, Strategy[] strategies) {
+    }
+
+    private static Profile readProfile(Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        final Strategy[] strategies = new Strategy[SIZE_CLASSES.length];
+        for (int i = 0; i < strategies.length; i++) {
+            final String name = properties.getProperty(key(i));
+            try {
+                strategies[i] = Strategy.valueOf(String.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid strategy for " + key(i) + " in " + file + ": " + name, e);
+            }
+            if (!isAllowed(strategies[i], i)) {
+                throw new IOException("Invalid strategy in " + file + ": " + naiveNotAllowed(i));
+            }
+        }
+        try {
+            return new Profile(Integer.parseInt(properties.getProperty("processors", "0")), strategies);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid processor count in " + file, e);
+        }
+    }
+}
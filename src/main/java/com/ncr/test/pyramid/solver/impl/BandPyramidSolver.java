@@ -0,0 +1,330 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Splits the pyramid into horizontal bands and solves the bands independently, in parallel,
+ * as max-plus transfer matrices.
+ * <p>
+ * The transfer of a band of rows {@code [a, b)} holds, for every cell {@code i} of row
+ * {@code a} and every cell {@code j} of row {@code b}, the best sum of the band's cells on a
+ * path from {@code (a, i)} down to {@code (b, j)}. The DP row of {@link YourSolver} is then
+ * {@code dp[a][i] = max_j T[i][j] + dp[b][j]}, a max-plus matrix-vector product, and the
+ * transfer of two stacked bands is the max-plus product of theirs. As that product is
+ * associative, bands can be computed in any order on any thread; only the final sweep of
+ * the DP vector through them, from the apex to row 0, is sequential.
+ * <p>
+ * A path moves at most one column per row, so {@code T[i][j]} is only defined for
+ * {@code i - h <= j <= i} in a band of {@code h} rows and is stored as a {@code width x (h + 1)}
+ * strip. Paths between ordered boundaries cannot cross without meeting in a cell, which makes
+ * the transfers Monge and their best {@code j} monotone in {@code i}. That keeps the products
+ * cheap: short bands are built directly, taller ones by multiplying their halves with every
+ * entry examining amortized O(1) candidates (Knuth's bound), and the sweep finds the row
+ * maxima of a band by divide and conquer in O(log width) per boundary cell.
+ * <p>
+ * Trade-off: the sequential part shrinks to O(log width) per boundary cell every
+ * {@code bandRows} rows, but the bands cost far more in total than the DP itself. A band of
+ * {@code h} rows needs {@code h / 2} steps per cell for the direct part plus one product per
+ * halving, and {@code 8 * (h + 1)} bytes per cell of its top row while in flight; in practice
+ * some 50 times the work of {@link YourSolver}'s single addition and comparison per cell.
+ * The solver therefore only shortens the critical path: it can win on machines with many
+ * more cores than that factor, on pyramids tall enough to give each core bands. With fewer
+ * cores {@link YourSolver} and {@link ParallelPyramidSolver} are faster.
+ * <p>
+ * Instances are thread-safe. A solver created with its own pool should be
+ * {@link #close() closed} when no longer needed.
+ */
+public class BandPyramidSolver implements PyramidSolver, AutoCloseable {
+
+    /**
+     * Default number of rows per band.
+     */
+    public static final int DEFAULT_BAND_ROWS = 64;
+
+    /**
+     * Bands up to this height are built row by row instead of by halving.
+     */
+    static final int DIRECT_ROWS = 32;
+
+    /**
+     * Marks transfer entries with no path; far enough from {@code Long.MIN_VALUE} to add cells to.
+     */
+    static final long NONE = Long.MIN_VALUE / 4;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int bandRows;
+
+    /**
+     * Uses the common pool and {@link #DEFAULT_BAND_ROWS}.
+     */
+    public BandPyramidSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BAND_ROWS, false);
+    }
+
+    /**
+     * Creates a solver with its own pool of the given parallelism.
+     */
+    public BandPyramidSolver(int parallelism, int bandRows) {
+        this(new ForkJoinPool(parallelism), bandRows, true);
+    }
+
+    /**
+     * Creates a solver running on an existing pool, which is not shut down by {@link #close()}.
+     */
+    public BandPyramidSolver(ForkJoinPool pool, int bandRows) {
+        this(pool, bandRows, false);
+    }
+
+    private BandPyramidSolver(ForkJoinPool pool, int bandRows, boolean ownsPool) {
+        if (bandRows < 1) {
+            throw new IllegalArgumentException("Band rows must be positive: " + bandRows);
+        }
+        this.pool = pool;
+        this.bandRows = bandRows;
+        this.ownsPool = ownsPool;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getBandRows() {
+        return bandRows;
+    }
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
+        if (rows - 1 <= bandRows) {
+            // A single band has nothing to run in parallel
+            return new YourSolver().pyramidMaximumTotal(pyramid);
+        }
+        final PackedPyramid packed = PackedPyramid.of(pyramid);
+
+        // Bands cover rows [0, rows - 1) from the apex up; the sweep starts at the apex cell
+        long[] dp = {packed.get(rows - 1, 0)};
+        final Deque<CompletableFuture<Transfer>> pending = new ArrayDeque<>();
+        final int window = pool.getParallelism() + 1;
+        int bottom = rows - 1;
+        while (bottom > 0 || !pending.isEmpty()) {
+            while (bottom > 0 && pending.size() < window) {
+                final int to = bottom;
+                final int from = Math.max(0, to - bandRows);
+                pending.add(CompletableFuture.supplyAsync(() -> transfer(packed, from, to), pool));
+                bottom = from;
+            }
+            dp = apply(pending.remove().join(), dp);
+        }
+
+        long max = dp[0];
+        for (int col = 1; col < rows; col++) {
+            max = Math.max(max, dp[col]);
+        }
+        return max;
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Transfer of rows {@code [from, to)}: entry {@code (i, d)} is the best sum of those rows' cells on
+     * a path from {@code (from, i)} to {@code (to, i - d)}, or {@link #NONE} when there is no such cell.
+     */
+    static final class Transfer {
+        final int width;
+        final int height;
+        final int below;
+        final long[] values;
+
+        Transfer(int width, int height, int below) {
+            this.width = width;
+            this.height = height;
+            this.below = below;
+            this.values = new long[Math.multiplyExact(width, height + 1)];
+        }
+
+        long get(int i, int d) {
+            return values[i * (height + 1) + d];
+        }
+    }
+
+    static Transfer transfer(PackedPyramid pyramid, int from, int to) {
+        if (to - from <= DIRECT_ROWS) {
+            return direct(pyramid, from, to);
+        }
+        final int middle = (from + to) >>> 1;
+        return multiply(transfer(pyramid, from, middle), transfer(pyramid, middle, to));
+    }
+
+    /**
+     * Builds the transfer of a short band one top cell at a time, following the paths from
+     * {@code (from, i)} down through the cone of cells below it with a small DP row that stays
+     * in cache. Costs {@code height / 2} steps per cell, but writes only the finished entries.
+     */
+    static Transfer direct(PackedPyramid pyramid, int from, int to) {
+        final int rows = pyramid.getRows();
+        final int[] cells = pyramid.getCells();
+        final int height = to - from;
+        final int below = rows - to;
+        final Transfer result = new Transfer(rows - from, height, below);
+        final long[] values = result.values;
+        final int stride = height + 1;
+        final int[] offsets = new int[height];
+        for (int t = 0; t < height; t++) {
+            offsets[t] = pyramid.rowOffset(from + t);
+        }
+        // best[s]: best sum from (from, i) to column i - s of the current row
+        final long[] best = new long[stride];
+
+        for (int i = 0; i < result.width; i++) {
+            best[0] = cells[offsets[0] + i];
+            for (int t = 1; t < height; t++) {
+                final int offset = offsets[t];
+                final int first = Math.max(0, i - (rows - from - t - 1));
+                final int last = Math.min(t, i);
+                best[t] = NONE;
+                for (int s = t; s > last; s--) {
+                    best[s] = NONE;
+                }
+                for (int s = last; s >= first; s--) {
+                    final long left = s > 0 ? best[s - 1] : NONE;
+                    best[s] = cells[offset + i - s] + Math.max(best[s], left);
+                }
+                for (int s = first - 1; s >= 0; s--) {
+                    best[s] = NONE;
+                }
+            }
+            // One more step down, to (to, i - d)
+            final int base = i * stride;
+            final int first = Math.max(0, i - below + 1);
+            final int last = Math.min(height, i);
+            for (int d = 0; d < first; d++) {
+                values[base + d] = NONE;
+            }
+            for (int d = first; d <= last; d++) {
+                final long stay = d < height ? best[d] : NONE;
+                final long left = d > 0 ? best[d - 1] : NONE;
+                values[base + d] = Math.max(stay, left);
+            }
+            for (int d = last + 1; d <= height; d++) {
+                values[base + d] = NONE;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Max-plus product of the transfer of an upper band and that of the band right below it.
+     * <p>
+     * With {@code opt(i, k)} the largest best middle column for the path {@code (i) -> (k)},
+     * {@code opt(i, k - 1) <= opt(i, k) <= opt(i + 1, k)}, that is, in strip coordinates, the
+     * bounds for {@code (i, d)} are the results at {@code (i, d + 1)} and {@code (i + 1, d + 1)}.
+     * Filling the strip backwards, row by row, has both ready, writes memory in order, and the
+     * candidates scanned along a diagonal add up to about its length plus the matrix width.
+     */
+    static Transfer multiply(Transfer upper, Transfer lower) {
+        final int width = upper.width;
+        final int height = upper.height + lower.height;
+        final int below = lower.below;
+        final Transfer product = new Transfer(width, height, below);
+        final long[] values = product.values;
+        final long[] upperValues = upper.values;
+        final long[] lowerValues = lower.values;
+        final int stride = height + 1;
+        final int upperStride = upper.height + 1;
+        final int lowerStride = lower.height + 1;
+        final int middleWidth = lower.width;
+        // opt(i + 1, d) and opt(i, d)
+        int[] next = new int[stride + 1];
+        int[] current = new int[stride + 1];
+
+        for (int i = width - 1; i >= 0; i--) {
+            final int base = i * stride;
+            for (int d = height; d >= 0; d--) {
+                final int k = i - d;
+                if (k < 0 || k >= below) {
+                    values[base + d] = NONE;
+                    continue;
+                }
+                int low = Math.max(k, i - upper.height);
+                int high = Math.min(Math.min(i, k + lower.height), middleWidth - 1);
+                if (d < height) {
+                    if (k > 0) {
+                        low = Math.max(low, current[d + 1]);
+                    }
+                    if (i + 1 < width) {
+                        high = Math.min(high, next[d + 1]);
+                    }
+                }
+                // upper[i][i - j] and lower[j][j - k] as j runs from low to high
+                int upperIndex = i * upperStride + i - low;
+                int lowerIndex = low * lowerStride + low - k;
+                long best = NONE;
+                int bestJ = low;
+                for (int j = low; j <= high; j++, upperIndex--, lowerIndex += lowerStride + 1) {
+                    final long value = upperValues[upperIndex] + lowerValues[lowerIndex];
+                    if (value >= best) {
+                        best = value;
+                        bestJ = j;
+                    }
+                }
+                values[base + d] = best;
+                current[d] = bestJ;
+            }
+            final int[] swap = next;
+            next = current;
+            current = swap;
+        }
+        return product;
+    }
+
+    /**
+     * DP row at the top of the band from the DP row right below it.
+     */
+    static long[] apply(Transfer transfer, long[] below) {
+        final long[] result = new long[transfer.width];
+        applyRange(transfer, below, result, 0, transfer.width - 1, 0, transfer.below - 1);
+        return result;
+    }
+
+    /**
+     * Row maxima of {@code rows [from, to]}, whose largest best columns are known to lie within {@code [low, high]}.
+     */
+    private static void applyRange(Transfer transfer, long[] below, long[] result, int from, int to, int low, int high) {
+        if (from > to) {
+            return;
+        }
+        final int i = (from + to) >>> 1;
+        final int first = Math.max(low, i - transfer.height);
+        final int last = Math.min(high, i);
+        final long[] values = transfer.values;
+        final int base = i * (transfer.height + 1) + i;
+        long best = NONE;
+        int bestJ = first;
+        for (int j = first; j <= last; j++) {
+            final long value = values[base - j] + below[j];
+            if (value >= best) {
+                best = value;
+                bestJ = j;
+            }
+        }
+        result[i] = best;
+        applyRange(transfer, below, result, from, i - 1, low, bestJ);
+        applyRange(transfer, below, result, i + 1, to, bestJ, high);
+    }
+}
@@ -0,0 +1,198 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.utils.ThreadPools;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Solves many independent pyramids concurrently.
+ * <p>
+ * The solver owns {@code maxInFlight} {@link SolverContext}s. Submitting a pyramid first
+ * takes a free context, blocking the caller while all of them are busy, and the context
+ * goes back to the pool when the solve ends. The context pool therefore both bounds the
+ * pyramids being solved (and the scratch memory they use) and hands every worker warm
+ * buffers, whichever thread it runs on. Each call waits for its own pyramids only, so
+ * concurrent calls share the in-flight limit but not their completion.
+ * <p>
+ * Pyramids are solved with the {@link YourSolver} recurrence. A solver is thread-safe
+ * and should be {@link #close() closed} to release its executor.
+ */
+public class BatchSolver implements AutoCloseable {
+
+    /**
+     * Each call tracks its pyramids in flight as {@link Phaser} parties, of which there can be at most 65535.
+     */
+    public static final int MAX_IN_FLIGHT = 65_534;
+
+    private final ExecutorService executor;
+    private final BlockingQueue<SolverContext> contexts;
+    private final int maxInFlight;
+
+    /**
+     * Solves on a fixed pool of {@code threads} platform threads.
+     */
+    public BatchSolver(int threads, int maxInFlight) {
+        this(ThreadPools.newFixedThreadPool(threads, "pyramid-batch"), maxInFlight);
+    }
+
+    private BatchSolver(ExecutorService executor, int maxInFlight) {
+        if (maxInFlight < 1 || maxInFlight > MAX_IN_FLIGHT) {
+            throw new IllegalArgumentException("Pyramids in flight must be in [1, " + MAX_IN_FLIGHT + "]: "
+                    + maxInFlight);
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.contexts = new ArrayBlockingQueue<>(maxInFlight);
+        for (int i = 0; i < maxInFlight; i++) {
+            contexts.add(new SolverContext());
+        }
+    }
+
+    /**
+     * Solves on a virtual thread per pyramid (platform threads before Java 21), with at most
+     * {@code maxInFlight} pyramids solved at once.
+     */
+    public static BatchSolver withVirtualThreads(int maxInFlight) {
+        return new BatchSolver(ThreadPools.newVirtualThreadPerTaskExecutor(maxInFlight, "pyramid-batch"), maxInFlight);
+    }
+
+    /**
+     * Defaults to one platform thread and one pyramid in flight per available core.
+     */
+    public static BatchSolver forAvailableProcessors() {
+        final int cores = Runtime.getRuntime().availableProcessors();
+        return new BatchSolver(cores, cores);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Solves all pyramids; {@code totals[i]} belongs to the i-th pyramid in iteration order.
+     */
+    public BatchResult solveAll(Collection<? extends Pyramid> pyramids) throws InterruptedException {
+        final long[] totals = new long[pyramids.size()];
+        final BatchStats stats = solveEach(pyramids.iterator(), (index, pyramid, total) -> totals[(int) index] = total);
+        return new BatchResult(totals, stats);
+    }
+
+    /**
+     * Streams pyramids through the solver, pulling the next one only when a context is free,
+     * so a lazy source never has more than {@code maxInFlight} pyramids in memory.
+     * <p>
+     * Results are handed to {@code consumer} in completion order, on the worker threads,
+     * so the consumer must be thread-safe. A slow consumer keeps its context busy, which holds
+     * the source back; a consumer submitting a batch of its own therefore needs another free
+     * context. The method returns once every pyramid of this call is solved and consumed.
+     * If a solve fails, no further pyramids are taken and the failure is rethrown.
+     */
+    public BatchStats solveEach(Iterator<? extends Pyramid> pyramids, ResultConsumer consumer)
+            throws InterruptedException {
+        final long start = System.nanoTime();
+        final AtomicLong cells = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        // One party for this call, plus one per submitted pyramid until it is done
+        final Phaser pending = new Phaser(1);
+        long count = 0;
+
+        try {
+            while (failure.get() == null && pyramids.hasNext()) {
+                final SolverContext context = contexts.take();
+                try {
+                    final Pyramid pyramid = pyramids.next();
+                    final long index = count;
+                    pending.register();
+                    try {
+                        executor.execute(() -> {
+                            try {
+                                final long total = context.solve(pyramid);
+                                cells.addAndGet(PackedPyramid.cellCount(pyramid.getRows()));
+                                consumer.accept(index, pyramid, total);
+                            } catch (Throwable e) {
+                                failure.compareAndSet(null, e);
+                            } finally {
+                                contexts.add(context);
+                                pending.arriveAndDeregister();
+                            }
+                        });
+                    } catch (RuntimeException | Error e) {
+                        pending.arriveAndDeregister();
+                        throw e;
+                    }
+                    count++;
+                } catch (RuntimeException | Error e) {
+                    // Not submitted (source failed or executor closed), so the context is still ours
+                    contexts.add(context);
+                    throw e;
+                }
+            }
+        } finally {
+            pending.awaitAdvanceInterruptibly(pending.arrive());
+        }
+
+        final Throwable error = failure.get();
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        if (error != null) {
+            throw new CompletionException(error);
+        }
+        return new BatchStats(count, cells.get(), System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Receives the total of one pyramid of a batch.
+     */
+    @FunctionalInterface
+    public interface ResultConsumer {
+        /**
+         * @param index position of the pyramid in the source
+         */
+        void accept(long index, Pyramid pyramid, long total);
+    }
+
+    /**
+     * Totals in source order, with the statistics of the batch.
+     */
+    public record BatchResult(long[] totals, BatchStats stats) {
+    }
+
+    /**
+     * Size and duration of a batch.
+     */
+    public record BatchStats(long pyramids, long cells, long elapsedNanos) {
+
+        public double pyramidsPerSecond() {
+            return elapsedNanos == 0 ? 0 : pyramids * 1e9 / elapsedNanos;
+        }
+
+        public double cellsPerSecond() {
+            return elapsedNanos == 0 ? 0 : cells * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d pyramids, %d cells in %.1f ms (%.0f pyramids/s, %.1f Mcells/s)",
+                    pyramids, cells, elapsedNanos / 1e6, pyramidsPerSecond(), cellsPerSecond() / 1e6);
+        }
+    }
+}
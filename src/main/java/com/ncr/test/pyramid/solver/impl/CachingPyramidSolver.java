@@ -0,0 +1,264 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Solver remembering the results of pyramids it has already solved, keyed by content.
+ * <p>
+ * Each pyramid is fingerprinted with a 128-bit hash over its cells in packed order, so
+ * equal contents hit the same entry whatever the {@link Pyramid} layout. An entry keeps a
+ * packed copy of the cells, and a hit is only served after comparing it with the pyramid,
+ * so a fingerprint collision costs a solve but never returns a wrong total. A hit thus
+ * reads the pyramid twice (hash and compare, both cheap sequential passes) and pays off
+ * for solvers doing more work per cell than that.
+ * <p>
+ * Entries are spread over independently locked segments, each an LRU list holding at
+ * most its share of {@code maxCachedCells}; the least recently used entries are evicted
+ * once a segment's copies exceed that share. Pyramids larger than one share are solved
+ * but not cached. Solving happens outside the locks, so two threads missing on the same
+ * pyramid both solve it.
+ */
+public class CachingPyramidSolver implements PyramidSolver {
+
+    public static final int DEFAULT_SEGMENTS = 16;
+
+    private static final long SEED_A = 0x9E3779B97F4A7C15L;
+    private static final long SEED_B = 0xC2B2AE3D27D4EB4FL;
+    private static final long SEED_C = 0x165667B19E3779F9L;
+    private static final long SEED_D = 0x27D4EB2F165667C5L;
+    private static final long MULTIPLIER = 0xBF58476D1CE4E5B9L;
+
+    /**
+     * 128-bit content hash of a pyramid.
+     */
+    public record Fingerprint(long high, long low) {
+    }
+
+    /**
+     * Counters since creation; {@code entries} and {@code cachedCells} are current values.
+     */
+    public record Stats(long hits, long misses, long collisions, long evictions, long entries, long cachedCells) {
+
+        public double hitRate() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry(int[] cells, long total) {
+    }
+
+    private final PyramidSolver delegate;
+    private final Segment[] segments;
+    private final long segmentCapacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxCachedCells cells all cached copies may hold together, 4 bytes each
+     */
+    public CachingPyramidSolver(PyramidSolver delegate, long maxCachedCells) {
+        this(delegate, maxCachedCells, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param segments number of independently locked segments, a power of two
+     */
+    public CachingPyramidSolver(PyramidSolver delegate, long maxCachedCells, int segments) {
+        if (maxCachedCells < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxCachedCells);
+        }
+        if (segments < 1 || Integer.bitCount(segments) != 1) {
+            throw new IllegalArgumentException("Segment count must be a power of two: " + segments);
+        }
+        this.delegate = delegate;
+        this.segmentCapacity = maxCachedCells / segments;
+        this.segments = new Segment[segments];
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        final Fingerprint fingerprint = fingerprint(pyramid);
+        final Segment segment = segments[(int) fingerprint.low() & (segments.length - 1)];
+
+        final Entry cached = segment.get(fingerprint);
+        if (cached != null) {
+            if (sameCells(cached.cells(), pyramid)) {
+                hits.increment();
+                return cached.total();
+            }
+            collisions.increment();
+        }
+        misses.increment();
+        final long total = delegate.pyramidMaximumTotal(pyramid);
+        // On a collision the resident entry stays; both pyramids cannot share a key
+        if (cached == null && PackedPyramid.cellCount(pyramid.getRows()) <= segmentCapacity) {
+            segment.put(fingerprint, new Entry(packedCopy(pyramid), total));
+        }
+        return total;
+    }
+
+    public Stats getStats() {
+        long entries = 0;
+        long cells = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                entries += segment.entries.size();
+                cells += segment.cells;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), collisions.sum(), evictions.sum(), entries, cells);
+    }
+
+    /**
+     * Drops all entries; the counters keep running.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.entries.clear();
+                segment.cells = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Hashes the cells in packed order with four independent multiply-rotate lanes, so the
+     * loop is not bound by the latency of one chain, each lane taking two cells per step,
+     * and mixes the lanes into 128 bits.
+     * Subclasses may substitute another key; equal pyramids must get equal fingerprints.
+     */
+    protected Fingerprint fingerprint(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        long a = SEED_A;
+        long b = SEED_B;
+        long c = SEED_C;
+        long d = SEED_D;
+        final int[] packedCells = pyramid instanceof PackedPyramid packed ? packed.getCells() : null;
+        final int[] row = packedCells == null ? new int[rows] : null;
+        int offset = 0;
+        for (int r = 0; r < rows; r++) {
+            final int length = rows - r;
+            final int[] cells;
+            final int start;
+            if (packedCells != null) {
+                cells = packedCells;
+                start = offset;
+            } else {
+                cells = pyramid.copyRow(r, row);
+                start = 0;
+            }
+            final int end = start + length;
+            int i = start;
+            // Two cells per lane step, one multiply for every 64 bits
+            for (; i + 8 <= end; i += 8) {
+                a = Long.rotateLeft((a ^ pair(cells[i], cells[i + 1])) * MULTIPLIER, 31);
+                b = Long.rotateLeft((b ^ pair(cells[i + 2], cells[i + 3])) * MULTIPLIER, 31);
+                c = Long.rotateLeft((c ^ pair(cells[i + 4], cells[i + 5])) * MULTIPLIER, 31);
+                d = Long.rotateLeft((d ^ pair(cells[i + 6], cells[i + 7])) * MULTIPLIER, 31);
+            }
+            for (; i < end; i++) {
+                a = Long.rotateLeft((a ^ cells[i]) * MULTIPLIER, 31);
+            }
+            offset += length;
+        }
+        final long x = mix(a * SEED_C + b);
+        final long y = mix(c * SEED_D + d);
+        return new Fingerprint(mix(x ^ Long.rotateLeft(y, 32) ^ rows), mix(y + x * SEED_B + rows));
+    }
+
+    private static long pair(int first, int second) {
+        return ((long) second << 32) | (first & 0xFFFFFFFFL);
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static boolean sameCells(int[] cached, Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (cached.length != PackedPyramid.cellCount(rows)) {
+            return false;
+        }
+        if (pyramid instanceof PackedPyramid packed) {
+            return Arrays.equals(cached, 0, cached.length, packed.getCells(), 0, cached.length);
+        }
+        final int[] row = new int[rows];
+        int offset = 0;
+        for (int r = 0; r < rows; r++) {
+            final int length = rows - r;
+            if (!Arrays.equals(cached, offset, offset + length, pyramid.copyRow(r, row), 0, length)) {
+                return false;
+            }
+            offset += length;
+        }
+        return true;
+    }
+
+    private static int[] packedCopy(Pyramid pyramid) {
+        if (pyramid instanceof PackedPyramid packed) {
+            return Arrays.copyOf(packed.getCells(), (int) PackedPyramid.cellCount(packed.getRows()));
+        }
+        return PackedPyramid.of(pyramid).getCells();
+    }
+
+    /**
+     * LRU map of one stripe of fingerprints.
+     */
+    private final class Segment {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<Fingerprint, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        long cells;
+
+        Entry get(Fingerprint fingerprint) {
+            lock.lock();
+            try {
+                return entries.get(fingerprint);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Fingerprint fingerprint, Entry entry) {
+            lock.lock();
+            try {
+                final Entry previous = entries.put(fingerprint, entry);
+                cells += entry.cells().length - (previous != null ? previous.cells().length : 0);
+                final Iterator<Map.Entry<Fingerprint, Entry>> eldest = entries.entrySet().iterator();
+                while (cells > segmentCapacity) {
+                    cells -= eldest.next().getValue().cells().length;
+                    eldest.remove();
+                    evictions.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Row-by-row DP of {@link YourSolver} that periodically saves its DP row to a checkpoint
+ * file, so that a long solve of a disk-backed pyramid can {@link #resume(Pyramid) resume}
+ * after a crash or restart instead of starting over.
+ * <p>
+ * At most once per interval, checked after every row, the frontier ({@code dp[row][0..rows-row)})
+ * and the row index are written to a temporary file next to the checkpoint file, forced to
+ * disk and renamed over the checkpoint with an atomic move, after which the directory is
+ * forced as well where the platform allows it. A crash therefore leaves either the previous
+ * or the new checkpoint, never a partial one; a CRC-32C trailer catches files damaged
+ * otherwise. The checkpoint is deleted when a new solve starts and once a solve completes.
+ * <p>
+ * A checkpoint costs writing {@code 8 * width} bytes and one {@code fsync}, while the rows
+ * between two checkpoints cost an addition and a comparison per cell each: with the
+ * default interval of {@link #DEFAULT_INTERVAL} that is far below one percent for any
+ * pyramid worth checkpointing. {@link Duration#ZERO} checkpoints after every row.
+ * <p>
+ * Checkpoint file layout, little-endian:
+ *
+ *     offset  size  field
+ *          0     4  magic "PYRC"
+ *          4     2  format version (1)
+ *          6     2  reserved, 0
+ *          8     4  number of rows of the pyramid
+ *         12     4  row of the DP values, which hold the best sums from the bottom to its cells
+ *         16  8 * (rows - row)  DP values
+ *          -     4  CRC-32C of everything before it
+ *
+ * Only the row count is checked on resume; resuming with another pyramid of the same size
+ * gives a wrong total. An instance is bound to one checkpoint file and must not run two
+ * solves at the same time.
+ */
+public class CheckpointingSolver implements PyramidSolver {
+
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+    static final int MAGIC = 0x43525950; // "PYRC" read as a little-endian int
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path checkpointFile;
+    private final Path temporaryFile;
+    private final long intervalNanos;
+
+    /**
+     * Checkpoints at most every {@link #DEFAULT_INTERVAL}.
+     */
+    public CheckpointingSolver(Path checkpointFile) {
+        this(checkpointFile, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param interval minimum time between two checkpoints, {@link Duration#ZERO} for every row
+     */
+    public CheckpointingSolver(Path checkpointFile, Duration interval) {
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("Checkpoint interval must not be negative: " + interval);
+        }
+        this.checkpointFile = checkpointFile;
+        this.temporaryFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public Path getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    /**
+     * Solves from the bottom row, replacing any existing checkpoint.
+     *
+     * @throws UncheckedIOException if a checkpoint cannot be written
+     */
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        try {
+            return solve(pyramid);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Solves from the bottom row, replacing any existing checkpoint.
+     */
+    public long solve(Pyramid pyramid) throws IOException {
+        // Deleted up front, so a crash before the first checkpoint cannot resume another run
+        Files.deleteIfExists(checkpointFile);
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
+        final long[] frontier = new long[rows];
+        frontier[0] = pyramid.get(rows - 1, 0);
+        return solveFrom(pyramid, rows - 1, frontier);
+    }
+
+    /**
+     * Continues from the checkpoint file, or solves from the bottom row when there is none.
+     *
+     * @throws IOException if the checkpoint is damaged or belongs to a pyramid with another row count
+     */
+    public long resume(Pyramid pyramid) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return solve(pyramid);
+        }
+        final Checkpoint checkpoint = readCheckpoint(checkpointFile);
+        final int rows = pyramid.getRows();
+        if (checkpoint.rows() != rows) {
+            throw new IOException("Checkpoint " + checkpointFile + " is for a pyramid of "
+                    + checkpoint.rows() + " rows, not " + rows);
+        }
+        final long[] frontier = new long[rows];
+        System.arraycopy(checkpoint.frontier(), 0, frontier, 0, checkpoint.frontier().length);
+        return solveFrom(pyramid, checkpoint.row(), frontier);
+    }
+
+    /**
+     * Runs the DP up from {@code row}, whose values are in the frontier, checkpointing on the way.
+     */
+    private long solveFrom(Pyramid pyramid, int row, long[] frontier) throws IOException {
+        final int rows = pyramid.getRows();
+        final int[] cells = new int[rows];
+        long lastCheckpoint = System.nanoTime();
+
+        while (row > 0) {
+            row--;
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            frontier[last] = cells[last] + frontier[last - 1];
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = cells[col] + Math.max(frontier[col - 1], frontier[col]);
+            }
+            frontier[0] = cells[0] + frontier[0];
+
+            if (row > 0 && System.nanoTime() - lastCheckpoint >= intervalNanos) {
+                writeCheckpoint(rows, row, frontier);
+                lastCheckpoint = System.nanoTime();
+            }
+        }
+
+        long max = frontier[0];
+        for (int col = 1; col < rows; col++) {
+            max = Math.max(max, frontier[col]);
+        }
+        Files.deleteIfExists(checkpointFile);
+        return max;
+    }
+
+    /**
+     * Writes the checkpoint to the temporary file and moves it over the checkpoint file.
+     */
+    private void writeCheckpoint(int rows, int row, long[] frontier) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(BYTE_ORDER);
+        final CRC32C crc = new CRC32C();
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putInt(rows)
+                .putInt(row);
+
+        try (FileChannel channel = FileChannel.open(temporaryFile, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            final int width = rows - row;
+            for (int col = 0; col < width; col++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    drain(buffer, crc, channel);
+                }
+                buffer.putLong(frontier[col]);
+            }
+            drain(buffer, crc, channel);
+            buffer.putInt((int) crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporaryFile, checkpointFile, ATOMIC_MOVE, REPLACE_EXISTING);
+        forceDirectory(checkpointFile.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Makes the rename durable. Directories cannot be opened or forced on some platforms,
+     * Windows among them, where the move is as durable as the file system makes it anyway.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported here
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, CRC32C crc, FileChannel channel) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads and validates a checkpoint file.
+     */
+    public static Checkpoint readCheckpoint(Path file) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(BYTE_ORDER);
+        if (buffer.remaining() < HEADER_SIZE + Integer.BYTES) {
+            throw new IOException("Not a checkpoint file: " + file + " is too short");
+        }
+        final int magic = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a checkpoint file: bad magic 0x" + Integer.toHexString(magic));
+        }
+        final short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+        buffer.getShort(); // reserved
+        final int rows = buffer.getInt();
+        final int row = buffer.getInt();
+        if (row < 1 || row >= rows) {
+            throw new IOException("Invalid checkpoint row " + row + " of " + rows);
+        }
+        final int width = rows - row;
+        final long expectedSize = HEADER_SIZE + (long) width * Long.BYTES + Integer.BYTES;
+        if (buffer.capacity() != expectedSize) {
+            throw new IOException("Checkpoint of row " + row + " of " + rows + " rows needs "
+                    + expectedSize + " bytes, file has " + buffer.capacity());
+        }
+        final CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.capacity() - Integer.BYTES);
+        if ((int) crc.getValue() != buffer.getInt(buffer.capacity() - Integer.BYTES)) {
+            throw new IOException("Checkpoint " + file + " is damaged: CRC mismatch");
+        }
+        final long[] frontier = new long[width];
+        buffer.asLongBuffer().get(frontier);
+        return new Checkpoint(rows, row, frontier);
+    }
+
+    /**
+     * Saved DP state: {@code frontier[col]} is the best sum from the bottom cell to {@code (row, col)}.
+     */
+    public record Checkpoint(int rows, int row, long[] frontier) {
+    }
+}
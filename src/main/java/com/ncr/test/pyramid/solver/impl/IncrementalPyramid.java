@@ -0,0 +1,171 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+
+/**
+ * Mutable pyramid which keeps the {@link YourSolver} DP table up to date across
+ * single-cell updates.
+ * <p>
+ * dp[row][col] (the best total from the bottom up to (row, col)) only depends on the
+ * cells below it, so changing (row, col) can only affect its upward cone: (row-1, col)
+ * and (row-1, col+1), then three cells of row-2, and so on. {@link #set(int, int, int)}
+ * recomputes that cone row by row, narrowing it to the columns whose DP value actually
+ * changed, and stops as soon as a row has no changed value left. The cost of an update
+ * therefore depends on how far its effect travels, not on the pyramid size.
+ * <p>
+ * The maximum of the top row is kept in a segment tree, so the answer is read in O(1)
+ * and each changed top-row value costs O(log n).
+ * <p>
+ * Both cells and DP values use the {@link PackedPyramid} layout. Not thread-safe.
+ */
+public class IncrementalPyramid extends Pyramid {
+
+    private final int[] cells;
+    private final long[] dp;
+    private final long[] topRowMax;
+    private long recomputedCells;
+
+    /**
+     * Copies the cells of {@code source} and solves it once.
+     */
+    public IncrementalPyramid(Pyramid source) {
+        super(source.getRows());
+        this.cells = PackedPyramid.of(source).getCells().clone();
+        this.dp = new long[cells.length];
+        this.topRowMax = new long[2 * source.getRows()];
+        solveAll();
+    }
+
+    @Override
+    public int get(int row, int col) {
+        return cells[offset(row) + col];
+    }
+
+    @Override
+    public int[] copyRow(int row, int[] target) {
+        System.arraycopy(cells, offset(row), target, 0, getRowLength(row));
+        return target;
+    }
+
+    @Override
+    public int[][] getData() {
+        return new PackedPyramid(getRows(), cells).getData();
+    }
+
+    /**
+     * The maximum path total for the current cells.
+     */
+    public long getMaximumTotal() {
+        return getRows() == 0 ? 0L : topRowMax[1];
+    }
+
+    /**
+     * Best total of a path from the bottom up to (row, col), including that cell.
+     */
+    public long getBestTotalTo(int row, int col) {
+        return dp[offset(row) + col];
+    }
+
+    /**
+     * DP values recomputed so far, including the initial solve; shows how far updates travelled.
+     */
+    public long getRecomputedCells() {
+        return recomputedCells;
+    }
+
+    /**
+     * Changes one cell and updates the DP values of its upward cone.
+     */
+    public void set(int row, int col, int value) {
+        if (col < 0 || col >= getRowLength(row)) {
+            throw new IndexOutOfBoundsException("No cell [" + row + "," + col + "] in a pyramid of " + getRows() + " rows");
+        }
+        cells[offset(row) + col] = value;
+
+        // Columns [from, to] of the current row may have changed
+        int from = col;
+        int to = col;
+        for (int r = row; r >= 0; r--) {
+            int firstChanged = -1;
+            int lastChanged = -1;
+            for (int c = from; c <= to; c++) {
+                if (recompute(r, c)) {
+                    if (firstChanged < 0) {
+                        firstChanged = c;
+                    }
+                    lastChanged = c;
+                }
+            }
+            if (firstChanged < 0) {
+                return;
+            }
+            if (r == 0) {
+                for (int c = firstChanged; c <= lastChanged; c++) {
+                    updateTopRow(c);
+                }
+                return;
+            }
+            // (r-1, c) and (r-1, c+1) sit above (r, c)
+            from = firstChanged;
+            to = Math.min(lastChanged + 1, getRowLength(r - 1) - 1);
+        }
+    }
+
+    private void solveAll() {
+        final int rows = getRows();
+        for (int row = rows - 1; row >= 0; row--) {
+            for (int col = 0; col < rows - row; col++) {
+                recompute(row, col);
+            }
+        }
+        for (int col = 0; col < rows; col++) {
+            topRowMax[rows + col] = dp[col];
+        }
+        for (int node = rows - 1; node > 0; node--) {
+            topRowMax[node] = Math.max(topRowMax[2 * node], topRowMax[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Recomputes dp[row][col] from the row below.
+     *
+     * @return whether the value changed
+     */
+    private boolean recompute(int row, int col) {
+        recomputedCells++;
+        final int index = offset(row) + col;
+        final long value;
+        if (row == getRows() - 1) {
+            value = cells[index];
+        } else {
+            final int below = offset(row + 1);
+            final int belowLength = getRowLength(row + 1);
+            long best = Long.MIN_VALUE;
+            if (col > 0) {
+                best = dp[below + col - 1];
+            }
+            if (col < belowLength) {
+                best = Math.max(best, dp[below + col]);
+            }
+            value = cells[index] + best;
+        }
+        if (dp[index] == value) {
+            return false;
+        }
+        dp[index] = value;
+        return true;
+    }
+
+    private void updateTopRow(int col) {
+        int node = getRows() + col;
+        topRowMax[node] = dp[col];
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            topRowMax[node] = Math.max(topRowMax[2 * node], topRowMax[2 * node + 1]);
+        }
+    }
+
+    private int offset(int row) {
+        return (int) PackedPyramid.rowOffset(getRows(), row);
+    }
+}
@@ -0,0 +1,212 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import com.ncr.test.pyramid.solver.metrics.MetricsRegistry;
+import com.ncr.test.pyramid.solver.metrics.RowBlockEvent;
+import com.ncr.test.pyramid.solver.metrics.SolveEvent;
+import com.ncr.test.pyramid.solver.metrics.SolverMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Decorator recording {@link SolverMetrics} and JFR events for every solve of another solver.
+ * <p>
+ * Per solve it records latency, rows, cells and, where the JVM supports it, the bytes
+ * allocated by the calling thread; work a solver hands to other threads is timed but its
+ * allocations are not counted. A {@link SolveEvent} is committed whenever JFR has it
+ * enabled. While disabled with {@link #setEnabled(boolean)} the decorator only reads a
+ * volatile flag before delegating.
+ * <p>
+ * Row sampling, off by default, hands the delegate a wrapper pyramid that commits a
+ * {@link RowBlockEvent} each time the solver reads every {@code rowSampleInterval}-th row
+ * through {@link Pyramid#copyRow(int, int[])}. The wrapper is not array-backed, so
+ * solvers take their row-by-row path instead of their packed or array fast path; use it
+ * to see how time spreads over the rows, not to measure peak speed.
+ */
+public class InstrumentedPyramidSolver implements PyramidSolver, AutoCloseable {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final PyramidSolver delegate;
+    private final SolverMetrics metrics;
+    private final int rowSampleInterval;
+    private final String solverName;
+    private final com.sun.management.ThreadMXBean allocations;
+    private volatile boolean enabled = true;
+
+    /**
+     * Records into the registry metrics named after the delegate's class.
+     */
+    public InstrumentedPyramidSolver(PyramidSolver delegate) {
+        this(delegate, MetricsRegistry.metrics(delegate.getClass().getSimpleName()), 0);
+    }
+
+    /**
+     * @param rowSampleInterval commit a row event every that many rows, or 0 for none
+     */
+    public InstrumentedPyramidSolver(PyramidSolver delegate, SolverMetrics metrics, int rowSampleInterval) {
+        if (rowSampleInterval < 0) {
+            throw new IllegalArgumentException("Row sample interval must not be negative: " + rowSampleInterval);
+        }
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.rowSampleInterval = rowSampleInterval;
+        this.solverName = delegate.getClass().getSimpleName();
+        this.allocations = THREADS instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+                ? threads : null;
+    }
+
+    public PyramidSolver getDelegate() {
+        return delegate;
+    }
+
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        if (!enabled) {
+            return delegate.pyramidMaximumTotal(pyramid);
+        }
+        final int rows = pyramid.getRows();
+        final long cells = PackedPyramid.cellCount(rows);
+        final RowSampler sampler = rowSampleInterval > 0 ? new RowSampler(pyramid) : null;
+        final SolveEvent event = new SolveEvent();
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = allocations != null ? allocations.getThreadAllocatedBytes(threadId) : 0;
+        event.begin();
+        final long start = System.nanoTime();
+        final long total;
+        try {
+            total = delegate.pyramidMaximumTotal(sampler != null ? sampler : pyramid);
+        } catch (RuntimeException | Error e) {
+            metrics.recordFailure();
+            event.failed = true;
+            commit(event, rows, cells, 0, 0);
+            throw e;
+        }
+        final long nanos = System.nanoTime() - start;
+        final long allocated = allocations != null ? allocations.getThreadAllocatedBytes(threadId) - allocatedBefore : 0;
+        metrics.recordSolve(nanos, rows, cells, allocated);
+        if (sampler != null) {
+            sampler.finish();
+        }
+        commit(event, rows, cells, total, allocated);
+        return total;
+    }
+
+    private void commit(SolveEvent event, int rows, long cells, long total, long allocated) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.solver = solverName;
+            event.rows = rows;
+            event.cells = cells;
+            event.total = total;
+            event.allocatedBytes = allocated;
+            event.commit();
+        }
+    }
+
+    /**
+     * Closes the delegate if it holds resources, e.g. a {@link ParallelPyramidSolver} pool.
+     * Checked exceptions of the delegate are rethrown wrapped, I/O errors as {@link UncheckedIOException}.
+     */
+    @Override
+    public void close() {
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Closing " + solverName + " failed", e);
+            }
+        }
+    }
+
+    /**
+     * View of the solved pyramid timing the stretches between sampled rows.
+     * A solve reads rows from one thread at a time, so it needs no synchronization.
+     */
+    private final class RowSampler extends Pyramid {
+
+        private final Pyramid pyramid;
+        private RowBlockEvent event;
+        private int lastRow;
+
+        RowSampler(Pyramid pyramid) {
+            super(pyramid.getRows());
+            this.pyramid = pyramid;
+        }
+
+        @Override
+        public int get(int row, int col) {
+            return pyramid.get(row, col);
+        }
+
+        @Override
+        public int[] copyRow(int row, int[] target) {
+            if (row % rowSampleInterval == 0) {
+                finish();
+                event = new RowBlockEvent();
+                event.firstRow = row;
+                event.begin();
+            }
+            lastRow = row;
+            return pyramid.copyRow(row, target);
+        }
+
+        /**
+         * Not array-backed, so that solvers read rows through the sampled {@link #copyRow(int, int[])}.
+         */
+        @Override
+        public boolean isArrayBacked() {
+            return false;
+        }
+
+        /**
+         * A jagged copy read through {@link #copyRow(int, int[])}, so that it is sampled as well.
+         */
+        @Override
+        public int[][] getData() {
+            final int rows = getRows();
+            final int[][] data = new int[rows][];
+            for (int row = 0; row < rows; row++) {
+                data[row] = copyRow(row, new int[getRowLength(row)]);
+            }
+            return data;
+        }
+
+        void finish() {
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.solver = solverName;
+                    event.lastRow = lastRow;
+                    event.commit();
+                }
+                event = null;
+            }
+        }
+    }
+}
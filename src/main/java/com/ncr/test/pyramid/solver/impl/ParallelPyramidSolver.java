@@ -0,0 +1,198 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Bottom-up DP like {@link YourSolver}, with each wide row split into chunks
+ * processed in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * Once the row below is complete, every cell of the current row depends only on it,
+ * so any split of the row into column ranges can be computed independently. Rows are
+ * still processed one after the other. Two DP rows are kept and swapped after each row,
+ * since the in-place update of {@link YourSolver} would let neighbouring chunks
+ * overwrite values the other still needs.
+ * <p>
+ * Rows narrower than two chunks gain nothing from forking and run on the calling
+ * worker thread. The whole solve runs as one task inside the pool, so the per-row
+ * fork/join does not pay for external task submission.
+ * <p>
+ * Instances are thread-safe. A solver created with its own pool should be
+ * {@link #close() closed} when no longer needed.
+ */
+public class ParallelPyramidSolver implements PyramidSolver, AutoCloseable {
+
+    /**
+     * Default number of cells a single task processes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int chunkSize;
+
+    /**
+     * Uses the common pool and {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    public ParallelPyramidSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, false);
+    }
+
+    /**
+     * Creates a solver with its own pool of the given parallelism.
+     *
+     * @param chunkSize cells per task; rows narrower than two chunks are not split
+     */
+    public ParallelPyramidSolver(int parallelism, int chunkSize) {
+        this(new ForkJoinPool(parallelism), chunkSize, true);
+    }
+
+    /**
+     * Creates a solver running on an existing pool, which is not shut down by {@link #close()}.
+     */
+    public ParallelPyramidSolver(ForkJoinPool pool, int chunkSize) {
+        this(pool, chunkSize, false);
+    }
+
+    private ParallelPyramidSolver(ForkJoinPool pool, int chunkSize, boolean ownsPool) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.ownsPool = ownsPool;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        if (pyramid.getRows() == 0) {
+            return 0L;
+        }
+        return pool.invoke(new SolveTask(pyramid, chunkSize));
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes dp[row][from, to) from the row below; {@code last} is the last column of the row.
+     */
+    static void mergeRange(int[] cells, int offset, long[] below, long[] current, int last, int from, int to) {
+        int col = from;
+        if (col == 0) {
+            // Leftmost cell: only (row+1, col) exists below it
+            current[0] = cells[offset] + below[0];
+            col = 1;
+        }
+        final int end = Math.min(to, last);
+        for (; col < end; col++) {
+            current[col] = cells[offset + col] + Math.max(below[col - 1], below[col]);
+        }
+        if (to == last + 1) {
+            // Rightmost cell: only (row+1, col-1) exists below it
+            current[last] = cells[offset + last] + below[last - 1];
+        }
+    }
+
+    private static final class SolveTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Pyramid pyramid;
+        private final int chunkSize;
+
+        SolveTask(Pyramid pyramid, int chunkSize) {
+            this.pyramid = pyramid;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Long compute() {
+            final int rows = pyramid.getRows();
+            final PackedPyramid packed = pyramid instanceof PackedPyramid p ? p : null;
+            final int[] cells = packed != null ? packed.getCells() : new int[rows];
+            long[] below = new long[rows];
+            long[] current = new long[rows];
+
+            below[0] = pyramid.get(rows - 1, 0);
+
+            for (int row = rows - 2; row >= 0; row--) {
+                final int offset;
+                if (packed != null) {
+                    offset = packed.rowOffset(row);
+                } else {
+                    pyramid.copyRow(row, cells);
+                    offset = 0;
+                }
+                final int width = rows - row;
+                if (width < 2 * chunkSize) {
+                    mergeRange(cells, offset, below, current, width - 1, 0, width);
+                } else {
+                    new RowTask(cells, offset, below, current, width - 1, 0, width, chunkSize).invoke();
+                }
+                final long[] swap = below;
+                below = current;
+                current = swap;
+            }
+
+            long max = below[0];
+            for (int col = 1; col < rows; col++) {
+                max = Math.max(max, below[col]);
+            }
+            return max;
+        }
+    }
+
+    private static final class RowTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] cells;
+        private final int offset;
+        private final long[] below;
+        private final long[] current;
+        private final int last;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        RowTask(int[] cells, int offset, long[] below, long[] current, int last, int from, int to, int chunkSize) {
+            this.cells = cells;
+            this.offset = offset;
+            this.below = below;
+            this.current = current;
+            this.last = last;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                mergeRange(cells, offset, below, current, last, from, to);
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new RowTask(cells, offset, below, current, last, from, middle, chunkSize),
+                    new RowTask(cells, offset, below, current, last, middle, to, chunkSize));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidPathSolver;
+import com.ncr.test.pyramid.solver.PyramidSolution;
+
+import java.util.BitSet;
+
+/**
+ * Bottom-up DP like {@link YourSolver}, additionally recovering the maximal path.
+ * <p>
+ * Instead of keeping the whole {@code long[rows][rows]} table, only one rolling DP row
+ * is kept, and for every cell above the bottom row a single bit records which of the
+ * two cells below it the best path came from:
+ * <ul>
+ *   <li>0 - from (row+1, col), a left step</li>
+ *   <li>1 - from (row+1, col-1), a right step</li>
+ * </ul>
+ * The bits are packed in {@code long} words in the {@link PackedPyramid} cell order,
+ * so recording the decisions costs about n²/16 bytes. The path is then read off
+ * top-down, starting at the best top row cell.
+ */
+public class PathTrackingSolver implements PyramidPathSolver {
+
+    @Override
+    public PyramidSolution solve(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return new PyramidSolution(0L, 0, new BitSet());
+        }
+        final long[] choices = new long[(int) ((PackedPyramid.cellCount(rows) + 63) >>> 6)];
+        final int[] cells = new int[rows];
+        final long[] frontier = new long[rows];
+
+        frontier[0] = pyramid.get(rows - 1, 0);
+
+        // Same right-to-left in-place update as YourSolver, recording each decision
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final long offset = PackedPyramid.rowOffset(rows, row);
+            final int last = rows - row - 1;
+
+            frontier[last] = cells[last] + frontier[last - 1];
+            setChoice(choices, offset + last);
+            for (int col = last - 1; col > 0; col--) {
+                final long fromLeft = frontier[col - 1];
+                final long fromBelow = frontier[col];
+                if (fromLeft > fromBelow) {
+                    setChoice(choices, offset + col);
+                    frontier[col] = cells[col] + fromLeft;
+                } else {
+                    frontier[col] = cells[col] + fromBelow;
+                }
+            }
+            frontier[0] = cells[0] + frontier[0];
+        }
+
+        int col = 0;
+        for (int c = 1; c < rows; c++) {
+            if (frontier[c] > frontier[col]) {
+                col = c;
+            }
+        }
+        final long total = frontier[col];
+
+        // Walk down from the best top cell; the step entering row `row` is step rows-2-row
+        final BitSet moves = new BitSet(rows - 1);
+        for (int row = 0; row < rows - 1; row++) {
+            if (getChoice(choices, PackedPyramid.rowOffset(rows, row) + col)) {
+                moves.set(rows - 2 - row);
+                col--;
+            }
+        }
+        return new PyramidSolution(total, rows, moves);
+    }
+
+    private static void setChoice(long[] choices, long index) {
+        choices[(int) (index >>> 6)] |= 1L << index;
+    }
+
+    private static boolean getChoice(long[] choices, long index) {
+        return (choices[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+}
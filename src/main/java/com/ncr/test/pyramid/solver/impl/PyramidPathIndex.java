@@ -0,0 +1,165 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+
+import java.util.Objects;
+
+/**
+ * Precomputed tables answering best-path queries on one pyramid in O(1).
+ * <p>
+ * Two DP tables in the {@link PackedPyramid} layout are built once in O(n²):
+ * <ul>
+ *   <li>{@code toCell}: the {@link YourSolver} table, the best total of a path from the
+ *       bottom up to (row, col);
+ *   <li>{@code fromCell}: the same recurrence run from the top row down, the best total of
+ *       a path starting at (row, col) and going up to the top row:
+ *       {@code fromCell[row][col] = cell + max(fromCell[row-1][col], fromCell[row-1][col+1])}.
+ * </ul>
+ * Both include the cell itself. The cell is not stored separately: it is the difference
+ * between {@code toCell} and the better of its two values below.
+ * <p>
+ * For ranges of the top row, a sparse table holds the maximum of {@code toCell[0]} over
+ * every run of {@code 2^k} columns, so any range is covered by two overlapping runs. All
+ * tables are flat {@code long[]}s: {@code n(n+1)} values for the DP tables and about
+ * {@code n log2 n} for the sparse table.
+ * <p>
+ * The index is a snapshot of the cells at construction and is immutable, so it can be
+ * queried from any number of threads.
+ */
+public class PyramidPathIndex {
+
+    private final int rows;
+    private final int[] rowOffsets;
+    private final long[] toCell;
+    private final long[] fromCell;
+    /** level k starts at levelOffsets[k] and holds rows - 2^k + 1 maxima */
+    private final long[] sparse;
+    private final int[] levelOffsets;
+
+    public PyramidPathIndex(Pyramid pyramid) {
+        final PackedPyramid packed = PackedPyramid.of(pyramid);
+        this.rows = packed.getRows();
+        final long cellCount = PackedPyramid.cellCount(rows);
+        this.rowOffsets = new int[rows + 1];
+        for (int row = 0; row <= rows; row++) {
+            rowOffsets[row] = (int) PackedPyramid.rowOffset(rows, row);
+        }
+        this.toCell = new long[(int) cellCount];
+        this.fromCell = new long[(int) cellCount];
+        YourSolver.solveTable(packed, toCell);
+        solveFromTop(packed.getCells());
+
+        final int levels = rows == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(rows);
+        this.levelOffsets = new int[levels + 1];
+        for (int k = 0; k < levels; k++) {
+            levelOffsets[k + 1] = levelOffsets[k] + rows - (1 << k) + 1;
+        }
+        this.sparse = new long[levelOffsets[levels]];
+        buildSparseTable();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * The maximum path total of the whole pyramid.
+     */
+    public long getMaximumTotal() {
+        return rows == 0 ? 0L : bestTotalEndingIn(0, rows - 1);
+    }
+
+    /**
+     * Best total of a path from the bottom up to (row, col), including that cell.
+     * For row 0 this is the best total of a path ending at top cell {@code col}.
+     */
+    public long bestTotalTo(int row, int col) {
+        return toCell[index(row, col)];
+    }
+
+    /**
+     * Best total of a path starting at (row, col), including it, and going up to the top row.
+     */
+    public long bestTotalFrom(int row, int col) {
+        return fromCell[index(row, col)];
+    }
+
+    /**
+     * Best total of a full path, bottom to top row, passing through (row, col).
+     */
+    public long bestTotalThrough(int row, int col) {
+        final int index = index(row, col);
+        return toCell[index] + fromCell[index] - cell(row, col, index);
+    }
+
+    /**
+     * Best total of a path ending at any top-row cell in the column range {@code [from, to]}.
+     */
+    public long bestTotalEndingIn(int from, int to) {
+        Objects.checkFromToIndex(from, to + 1, rows);
+        if (from > to) {
+            throw new IllegalArgumentException("Empty column range [" + from + ", " + to + "]");
+        }
+        final int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        final int offset = levelOffsets[level];
+        return Math.max(sparse[offset + from], sparse[offset + to - (1 << level) + 1]);
+    }
+
+    private int index(int row, int col) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(col, rows - row);
+        return rowOffsets[row] + col;
+    }
+
+    /**
+     * Recovers a cell from the bottom-up table.
+     */
+    private long cell(int row, int col, int index) {
+        if (row == rows - 1) {
+            return toCell[index];
+        }
+        final int below = rowOffsets[row + 1];
+        final int belowLength = rows - row - 1;
+        long best = Long.MIN_VALUE;
+        if (col > 0) {
+            best = toCell[below + col - 1];
+        }
+        if (col < belowLength) {
+            best = Math.max(best, toCell[below + col]);
+        }
+        return toCell[index] - best;
+    }
+
+    private void solveFromTop(int[] cells) {
+        if (rows == 0) {
+            return;
+        }
+        for (int col = 0; col < rows; col++) {
+            fromCell[col] = cells[col];
+        }
+        for (int row = 1; row < rows; row++) {
+            final int offset = rowOffsets[row];
+            final int above = rowOffsets[row - 1];
+            // (row, col) moves up to (row-1, col) or (row-1, col+1); both always exist
+            for (int col = 0; col < rows - row; col++) {
+                fromCell[offset + col] = cells[offset + col] + Math.max(fromCell[above + col], fromCell[above + col + 1]);
+            }
+        }
+    }
+
+    private void buildSparseTable() {
+        if (rows == 0) {
+            return;
+        }
+        System.arraycopy(toCell, 0, sparse, 0, rows);
+        for (int level = 1; level < levelOffsets.length - 1; level++) {
+            final int previous = levelOffsets[level - 1];
+            final int current = levelOffsets[level];
+            final int half = 1 << (level - 1);
+            for (int col = 0; col < levelOffsets[level + 1] - current; col++) {
+                sparse[current + col] = Math.max(sparse[previous + col], sparse[previous + col + half]);
+            }
+        }
+    }
+}
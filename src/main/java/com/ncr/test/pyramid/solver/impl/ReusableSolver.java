@@ -0,0 +1,19 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+/**
+ * {@link YourSolver} without per-solve allocations, for high solve rates.
+ * <p>
+ * Each calling thread solves with its own {@link SolverContext}, so the only memory
+ * ever allocated is one pair of scratch buffers per thread, sized for the largest
+ * pyramid that thread has solved.
+ */
+public class ReusableSolver implements PyramidSolver {
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        return SolverContext.forCurrentThread().solve(pyramid);
+    }
+}
@@ -0,0 +1,250 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import com.ncr.test.pyramid.solver.Semiring;
+
+/**
+ * Bottom-up DP of {@link YourSolver} over an arbitrary {@link Semiring}:
+ * <p>
+ *     value[row][col] = weight(cell) ⊗ (value[row+1][col-1] ⊕ value[row+1][col])
+ * <p>
+ * and the total is the ⊕ of the top row. With the max-plus semiring this is exactly
+ * the maximum path total; min-plus gives the minimum total, path counting the number
+ * of paths, and so on.
+ * <p>
+ * Going through the {@link Semiring} interface costs two calls per cell, which the JIT
+ * can only inline while a single semiring type is in use. Every {@link StandardSemiring}
+ * therefore has its own loop with the operations written out, and only custom semirings
+ * take the generic path. All loops use the single rolling DP row of {@link YourSolver},
+ * with the two border cells, which have a single cell below them, handled outside the
+ * inner loop.
+ */
+public class SemiringPyramidSolver implements PyramidSolver {
+
+    private final Semiring semiring;
+
+    public SemiringPyramidSolver(Semiring semiring) {
+        this.semiring = semiring;
+    }
+
+    public Semiring getSemiring() {
+        return semiring;
+    }
+
+    /**
+     * The semiring total; the maximum path total only for {@link StandardSemiring#MAX_PLUS}.
+     * An empty pyramid gives 0 like every other {@link PyramidSolver}, not {@link #solve}'s
+     * semiring zero, which is {@link Long#MIN_VALUE} for max-plus.
+     */
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        return pyramid.getRows() == 0 ? 0L : solve(pyramid);
+    }
+
+    /**
+     * The ⊕ of all path weights, {@link Semiring#zero()} for an empty pyramid, which has no paths.
+     */
+    public long solve(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return semiring.zero();
+        }
+        if (semiring instanceof StandardSemiring standard) {
+            return switch (standard) {
+                case MAX_PLUS -> pyramid instanceof PackedPyramid packed
+                        ? YourSolver.solvePacked(packed, new long[rows])
+                        : YourSolver.solveByRows(pyramid, new int[rows], new long[rows]);
+                case MIN_PLUS -> minPlus(pyramid);
+                case MAX_MIN -> maxMin(pyramid);
+                case PATH_COUNT -> pathCount(pyramid);
+                case PATH_COUNT_EXACT -> pathCountExact(pyramid);
+            };
+        }
+        return generic(pyramid, semiring);
+    }
+
+    /**
+     * Maximum path total together with the number of paths reaching it
+     * (saturating at {@link Long#MAX_VALUE}), in a single pass.
+     */
+    public static TiedMaximum maxWithTieCount(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return new TiedMaximum(0L, 0L);
+        }
+        final int[] cells = new int[rows];
+        final long[] best = new long[rows];
+        final long[] count = new long[rows];
+
+        best[0] = pyramid.get(rows - 1, 0);
+        count[0] = 1;
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            best[last] = cells[last] + best[last - 1];
+            count[last] = count[last - 1];
+            for (int col = last - 1; col > 0; col--) {
+                final long left = best[col - 1];
+                final long below = best[col];
+                if (left > below) {
+                    best[col] = cells[col] + left;
+                    count[col] = count[col - 1];
+                } else if (left == below) {
+                    best[col] = cells[col] + below;
+                    count[col] = StandardSemiring.saturatedAdd(count[col - 1], count[col]);
+                } else {
+                    best[col] = cells[col] + below;
+                }
+            }
+            best[0] = cells[0] + best[0];
+        }
+
+        long total = best[0];
+        long ties = count[0];
+        for (int col = 1; col < rows; col++) {
+            if (best[col] > total) {
+                total = best[col];
+                ties = count[col];
+            } else if (best[col] == total) {
+                ties = StandardSemiring.saturatedAdd(ties, count[col]);
+            }
+        }
+        return new TiedMaximum(total, ties);
+    }
+
+    private static long minPlus(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        final int[] cells = new int[rows];
+        final long[] frontier = new long[rows];
+
+        frontier[0] = pyramid.get(rows - 1, 0);
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            frontier[last] = cells[last] + frontier[last - 1];
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = cells[col] + Math.min(frontier[col - 1], frontier[col]);
+            }
+            frontier[0] = cells[0] + frontier[0];
+        }
+
+        long min = frontier[0];
+        for (int col = 1; col < rows; col++) {
+            min = Math.min(min, frontier[col]);
+        }
+        return min;
+    }
+
+    private static long maxMin(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        final int[] cells = new int[rows];
+        final long[] frontier = new long[rows];
+
+        frontier[0] = pyramid.get(rows - 1, 0);
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            frontier[last] = Math.min(cells[last], frontier[last - 1]);
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = Math.min(cells[col], Math.max(frontier[col - 1], frontier[col]));
+            }
+            frontier[0] = Math.min(cells[0], frontier[0]);
+        }
+
+        long max = frontier[0];
+        for (int col = 1; col < rows; col++) {
+            max = Math.max(max, frontier[col]);
+        }
+        return max;
+    }
+
+    private static long pathCount(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        final int[] cells = new int[rows];
+        final long[] frontier = new long[rows];
+
+        frontier[0] = pyramid.get(rows - 1, 0) == 0 ? 0L : 1L;
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            frontier[last] = cells[last] == 0 ? 0L : frontier[last - 1];
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = cells[col] == 0 ? 0L : StandardSemiring.saturatedAdd(frontier[col - 1], frontier[col]);
+            }
+            frontier[0] = cells[0] == 0 ? 0L : frontier[0];
+        }
+
+        long count = 0L;
+        for (int col = 0; col < rows; col++) {
+            count = StandardSemiring.saturatedAdd(count, frontier[col]);
+        }
+        return count;
+    }
+
+    private static long pathCountExact(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        final int[] cells = new int[rows];
+        final long[] frontier = new long[rows];
+
+        frontier[0] = pyramid.get(rows - 1, 0) == 0 ? 0L : 1L;
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            frontier[last] = cells[last] == 0 ? 0L : frontier[last - 1];
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = cells[col] == 0 ? 0L : Math.addExact(frontier[col - 1], frontier[col]);
+            }
+            frontier[0] = cells[0] == 0 ? 0L : frontier[0];
+        }
+
+        long count = 0L;
+        for (int col = 0; col < rows; col++) {
+            count = Math.addExact(count, frontier[col]);
+        }
+        return count;
+    }
+
+    private static long generic(Pyramid pyramid, Semiring semiring) {
+        final int rows = pyramid.getRows();
+        final int[] cells = new int[rows];
+        final long[] frontier = new long[rows];
+
+        frontier[0] = semiring.weight(pyramid.get(rows - 1, 0));
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            frontier[last] = semiring.times(semiring.weight(cells[last]), frontier[last - 1]);
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = semiring.times(semiring.weight(cells[col]),
+                        semiring.plus(frontier[col - 1], frontier[col]));
+            }
+            frontier[0] = semiring.times(semiring.weight(cells[0]), frontier[0]);
+        }
+
+        long total = semiring.zero();
+        for (int col = 0; col < rows; col++) {
+            total = semiring.plus(total, frontier[col]);
+        }
+        return total;
+    }
+
+    /**
+     * Maximum path total and the number of distinct paths reaching it.
+     */
+    public record TiedMaximum(long total, long count) {
+    }
+}
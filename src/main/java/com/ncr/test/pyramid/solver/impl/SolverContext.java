@@ -0,0 +1,53 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+
+/**
+ * Scratch buffers for the rolling-row DP of {@link YourSolver}, reused across solves.
+ * <p>
+ * The buffers grow to the largest pyramid seen so far and are never shrunk, so once a
+ * context has seen its largest pyramid, solving does not allocate at all. A context is
+ * not thread-safe: keep one per thread ({@link #forCurrentThread()}) or take one from
+ * a pool for the duration of a solve.
+ */
+public final class SolverContext {
+
+    private static final ThreadLocal<SolverContext> PER_THREAD = ThreadLocal.withInitial(SolverContext::new);
+
+    private int[] cells = new int[0];
+    private long[] frontier = new long[0];
+
+    /**
+     * The context owned by the calling thread.
+     */
+    public static SolverContext forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    public long solve(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        ensureCapacity(rows);
+        if (pyramid instanceof PackedPyramid packed) {
+            return YourSolver.solvePacked(packed, frontier);
+        }
+        return YourSolver.solveByRows(pyramid, cells, frontier);
+    }
+
+    /**
+     * Largest row count this context can solve without growing its buffers.
+     */
+    public int getCapacity() {
+        return frontier.length;
+    }
+
+    /**
+     * Grows the buffers up front, e.g. to keep the first solves of a pooled context allocation-free.
+     */
+    public void ensureCapacity(int rows) {
+        if (rows > frontier.length) {
+            cells = new int[rows];
+            frontier = new long[rows];
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.solver.Semiring;
+
+/**
+ * Built-in semirings. {@link SemiringPyramidSolver} has a hand-specialized kernel for
+ * each of them, so the methods below only define the semantics.
+ */
+public enum StandardSemiring implements Semiring {
+
+    /**
+     * Maximum path total, as {@link YourSolver}.
+     */
+    MAX_PLUS {
+        @Override
+        public long zero() {
+            return Long.MIN_VALUE;
+        }
+
+        @Override
+        public long plus(long a, long b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            return a == Long.MIN_VALUE || b == Long.MIN_VALUE ? Long.MIN_VALUE : a + b;
+        }
+    },
+
+    /**
+     * Minimum path total.
+     */
+    MIN_PLUS {
+        @Override
+        public long zero() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public long plus(long a, long b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            return a == Long.MAX_VALUE || b == Long.MAX_VALUE ? Long.MAX_VALUE : a + b;
+        }
+    },
+
+    /**
+     * Largest smallest cell over all paths (the bottleneck or widest path).
+     */
+    MAX_MIN {
+        @Override
+        public long zero() {
+            return Long.MIN_VALUE;
+        }
+
+        @Override
+        public long plus(long a, long b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            return Math.min(a, b);
+        }
+    },
+
+    /**
+     * Number of paths avoiding cells with value 0, saturating at {@link Long#MAX_VALUE}.
+     */
+    PATH_COUNT {
+        @Override
+        public long zero() {
+            return 0L;
+        }
+
+        @Override
+        public long plus(long a, long b) {
+            return saturatedAdd(a, b);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            return saturatedMultiply(a, b);
+        }
+
+        @Override
+        public long weight(int cell) {
+            return cell == 0 ? 0L : 1L;
+        }
+    },
+
+    /**
+     * Number of paths avoiding cells with value 0, throwing {@link ArithmeticException}
+     * when the count does not fit into a {@code long}.
+     */
+    PATH_COUNT_EXACT {
+        @Override
+        public long zero() {
+            return 0L;
+        }
+
+        @Override
+        public long plus(long a, long b) {
+            return Math.addExact(a, b);
+        }
+
+        @Override
+        public long times(long a, long b) {
+            return Math.multiplyExact(a, b);
+        }
+
+        @Override
+        public long weight(int cell) {
+            return cell == 0 ? 0L : 1L;
+        }
+    };
+
+    @Override
+    public long weight(int cell) {
+        return cell;
+    }
+
+    /**
+     * Sum of two non-negative counts, {@link Long#MAX_VALUE} on overflow.
+     */
+    static long saturatedAdd(long a, long b) {
+        final long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Product of two non-negative counts, {@link Long#MAX_VALUE} on overflow.
+     */
+    static long saturatedMultiply(long a, long b) {
+        final long high = Math.multiplyHigh(a, b);
+        final long product = a * b;
+        return high != 0 || product < 0 ? Long.MAX_VALUE : product;
+    }
+}
@@ -0,0 +1,198 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.io.BinaryPyramidFormat;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Solver consuming rows one at a time in storage order: row 0 (the widest) first,
+ * the single bottom cell last.
+ * <p>
+ * A path visits every row once, so its total does not depend on the direction it is
+ * walked in. This solver walks top-down: {@code frontier[col]} is the best total of a
+ * path from the top row down to the current cell,
+ * <p>
+ *     frontier[col] = cell(row, col) + max(frontier_above[col], frontier_above[col + 1])
+ * <p>
+ * Every row is one cell narrower than the row above, so the update runs in place from
+ * left to right, and the last frontier value is the answer. Only that one {@code long[]}
+ * of the top row width is kept, so pyramids larger than the heap can be solved straight
+ * from a pipe or a file.
+ */
+public class StreamingPyramidSolver implements PyramidSolver {
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        final Session session = new Session();
+        final int[] row = new int[rows];
+        for (int r = 0; r < rows; r++) {
+            session.accept(pyramid.copyRow(r, row), pyramid.getRowLength(r));
+        }
+        return session.finish();
+    }
+
+    /**
+     * Solves rows given in storage order. The first row defines the pyramid width;
+     * each following row must provide at least one cell less than the row before it,
+     * extra trailing cells (as in the square {@code int[rows][rows]} form) are ignored.
+     */
+    public long solve(Iterator<int[]> rows) {
+        final Session session = new Session();
+        while (rows.hasNext()) {
+            session.accept(rows.next());
+        }
+        return session.finish();
+    }
+
+    /**
+     * Solves a pyramid in {@link BinaryPyramidFormat} read sequentially from the stream,
+     * e.g. a pipe. The stream is read up to the last cell and is not closed.
+     */
+    public long solve(InputStream in) throws IOException {
+        final byte[] header = new byte[BinaryPyramidFormat.HEADER_SIZE];
+        readFully(in, header, header.length, "the header");
+        final BinaryPyramidFormat.Header shape = BinaryPyramidFormat.readHeader(
+                ByteBuffer.wrap(header).order(BinaryPyramidFormat.BYTE_ORDER));
+        final int rows = shape.rows();
+        final int cellWidth = shape.cellWidth();
+
+        final Session session = new Session();
+        session.accept(in, cellWidth, rows, rows);
+        return session.finish();
+    }
+
+    private static void readFully(InputStream in, byte[] bytes, int length, String what) throws IOException {
+        if (in.readNBytes(bytes, 0, length) < length) {
+            throw new EOFException("Pyramid stream ended inside " + what);
+        }
+    }
+
+    /**
+     * Push-style solving state for callers producing rows themselves.
+     * A session is not thread-safe and is used for one pyramid only.
+     */
+    public static class Session {
+        private long[] frontier;
+        private int width;
+        private int rowsAccepted;
+
+        public Session() {
+        }
+
+        /**
+         * Continues a pyramid whose first {@code rowsAccepted} rows were accepted elsewhere,
+         * e.g. by another process, leaving the first {@code width} values of {@code frontier}.
+         * The array is used, not copied.
+         */
+        public Session(long[] frontier, int width, int rowsAccepted) {
+            if (width < 1 || width > frontier.length) {
+                throw new IllegalArgumentException("Frontier width " + width + " outside [1, "
+                        + frontier.length + "]");
+            }
+            if (rowsAccepted < 1) {
+                throw new IllegalArgumentException("A frontier needs at least one accepted row: " + rowsAccepted);
+            }
+            this.frontier = frontier;
+            this.width = width;
+            this.rowsAccepted = rowsAccepted;
+        }
+
+        /**
+         * Accepts the next row; all of its cells are used unless the pyramid width
+         * is already known, see {@link StreamingPyramidSolver#solve(Iterator)}.
+         */
+        public void accept(int[] row) {
+            accept(row, frontier == null ? row.length : width - 1);
+        }
+
+        /**
+         * Accepts the first {@code length} cells of {@code row} as the next row.
+         */
+        public void accept(int[] row, int length) {
+            if (frontier == null) {
+                frontier = new long[length];
+                for (int col = 0; col < length; col++) {
+                    frontier[col] = row[col];
+                }
+            } else {
+                if (length != width - 1) {
+                    throw new IllegalArgumentException("Row " + rowsAccepted + " must have "
+                            + (width - 1) + " cells, got " + length);
+                }
+                if (row.length < length) {
+                    throw new IllegalArgumentException("Row " + rowsAccepted + " has " + row.length
+                            + " cells, expected at least " + length);
+                }
+                for (int col = 0; col < length; col++) {
+                    frontier[col] = row[col] + Math.max(frontier[col], frontier[col + 1]);
+                }
+            }
+            width = length;
+            rowsAccepted++;
+        }
+
+        /**
+         * Reads {@code count} rows from the stream and accepts them, each encoded as its cells in
+         * {@link BinaryPyramidFormat} with {@code cellWidth} bytes per cell. The first of them has
+         * {@code length} cells. The stream is read up to the last of these cells and is not closed.
+         */
+        public void accept(InputStream in, int cellWidth, int length, int count) throws IOException {
+            final byte[] bytes = new byte[length * cellWidth];
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes).order(BinaryPyramidFormat.BYTE_ORDER);
+            final int[] row = new int[length];
+            for (int r = 0; r < count; r++, length--) {
+                readFully(in, bytes, length * cellWidth, "row " + rowsAccepted);
+                for (int col = 0; col < length; col++) {
+                    row[col] = switch (cellWidth) {
+                        case Byte.BYTES -> bytes[col];
+                        case Short.BYTES -> buffer.getShort(col * Short.BYTES);
+                        default -> buffer.getInt(col * Integer.BYTES);
+                    };
+                }
+                accept(row, length);
+            }
+        }
+
+        /**
+         * Best totals of paths from the top row down to each cell of the last accepted row;
+         * only the first {@link #getWidth()} values are meaningful. This is the array the
+         * session updates, not a copy.
+         */
+        public long[] getFrontier() {
+            return frontier;
+        }
+
+        /**
+         * Cells in the last accepted row, 0 before the first row.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        public int getRowsAccepted() {
+            return rowsAccepted;
+        }
+
+        /**
+         * @return the maximum path total, or 0 for an empty pyramid
+         * @throws IllegalStateException if the bottom row has not been accepted yet
+         */
+        public long finish() {
+            if (frontier == null) {
+                return 0L;
+            }
+            if (width != 1) {
+                throw new IllegalStateException("Pyramid ended after " + rowsAccepted + " of "
+                        + (rowsAccepted + width - 1) + " rows");
+            }
+            return frontier[0];
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+
+import java.util.Arrays;
+
+/**
+ * Finds the K largest distinct path totals without enumerating paths.
+ * <p>
+ * Same bottom-up walk as {@link YourSolver}, but each cell keeps the K best distinct totals
+ * of paths from the bottom up to it, as a strictly descending {@code long} list, instead of
+ * a single best total. The list of (row, col) is the top K of the merged lists of
+ * (row+1, col-1) and (row+1, col), each increased by the cell value; both inputs are sorted,
+ * so one merge pass of at most 2K steps builds it, dropping a total found in both. A total
+ * among the K best distinct ones of a cell is among the K best distinct ones of the
+ * predecessor it came from, so nothing is lost by keeping only K per cell. Different paths
+ * with equal totals count once.
+ * <p>
+ * Two DP rows of {@code rows * K} longs are kept, for example 48 MB for 10,000 rows and
+ * K = 300, whatever the pyramid height.
+ */
+public class TopKPyramidSolver implements PyramidSolver {
+
+    private final int k;
+
+    public TopKPyramidSolver(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("K must be positive: " + k);
+        }
+        this.k = k;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        return pyramid.getRows() == 0 ? 0L : topTotals(pyramid)[0];
+    }
+
+    /**
+     * @return the largest distinct path totals in descending order; fewer than K if the
+     * pyramid has fewer distinct totals
+     */
+    public long[] topTotals(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return new long[0];
+        }
+        final int[] cells = new int[rows];
+        // The list of column col occupies [col * k, col * k + length[col]) of its row buffer
+        final int rowSize = Math.multiplyExact(rows, k);
+        long[] below = new long[rowSize];
+        long[] current = new long[rowSize];
+        int[] belowLength = new int[rows];
+        int[] currentLength = new int[rows];
+
+        below[0] = pyramid.get(rows - 1, 0);
+        belowLength[0] = 1;
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+            for (int col = 0; col <= last; col++) {
+                // (row+1, col-1) exists for col > 0, (row+1, col) for col < last
+                final int leftLength = col > 0 ? belowLength[col - 1] : 0;
+                final int rightLength = col < last ? belowLength[col] : 0;
+                currentLength[col] = merge(below, (col - 1) * k, leftLength, below, col * k, rightLength,
+                        current, col * k, cells[col]);
+            }
+            final long[] swap = below;
+            below = current;
+            current = swap;
+            final int[] swapLength = belowLength;
+            belowLength = currentLength;
+            currentLength = swapLength;
+        }
+
+        // Merge the lists of the whole top row
+        long[] best = new long[k];
+        long[] merged = new long[k];
+        int bestLength = 0;
+        for (int col = 0; col < rows; col++) {
+            bestLength = merge(best, 0, bestLength, below, col * k, belowLength[col], merged, 0, 0);
+            final long[] swap = best;
+            best = merged;
+            merged = swap;
+        }
+        return Arrays.copyOf(best, bestLength);
+    }
+
+    /**
+     * Writes the top K distinct values of two strictly descending lists, each plus {@code add},
+     * to {@code out}.
+     *
+     * @return length of the merged list
+     */
+    private int merge(long[] a, int aFrom, int aLength, long[] b, int bFrom, int bLength,
+                      long[] out, int outFrom, long add) {
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (n < k && (i < aLength || j < bLength)) {
+            final long value;
+            if (j == bLength || (i < aLength && a[aFrom + i] > b[bFrom + j])) {
+                value = a[aFrom + i++];
+            } else if (i == aLength || b[bFrom + j] > a[aFrom + i]) {
+                value = b[bFrom + j++];
+            } else {
+                // In both lists
+                value = a[aFrom + i++];
+                j++;
+            }
+            out[outFrom + n++] = value + add;
+        }
+        return n;
+    }
+}
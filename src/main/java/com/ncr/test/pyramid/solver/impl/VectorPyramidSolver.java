@@ -0,0 +1,94 @@
+package com.ncr.test.pyramid.solver.impl;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bottom-up DP like {@link YourSolver}, with the row update done in SIMD lanes
+ * through the incubating Vector API ({@code --add-modules jdk.incubator.vector}).
+ * <p>
+ * The recurrence dp[row][col] = cell + max(dp[row+1][col-1], dp[row+1][col]) is an
+ * element-wise max of the row below with itself shifted by one, plus the cells. The
+ * branches of {@code calculateMaxFromBelow} only exist for the two border cells, so
+ * the row below is kept with a {@link Long#MIN_VALUE} sentinel on each side:
+ *
+ *     below:   [MIN] [dp0] [dp1] ... [dpw-1] [MIN]
+ *     current:       [c0 + max(MIN, dp0)] [c1 + max(dp0, dp1)] ... [cw + max(dpw-1, MIN)]
+ *
+ * Every cell then takes the same max-and-add, which maps directly onto vector lanes.
+ * The sentinel never wins a max, since each cell has at least one real cell below it.
+ * A scalar loop handles the cells left over after the last full vector.
+ */
+public class VectorPyramidSolver implements PyramidSolver {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED.vectorBitSize() >= 128
+            ? LongVector.SPECIES_PREFERRED
+            : LongVector.SPECIES_128;
+    // Same lane count as LONGS, so one int vector widens into exactly one long vector
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    private static final long SENTINEL = Long.MIN_VALUE;
+
+    @Override
+    public long pyramidMaximumTotal(Pyramid pyramid) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
+        final PackedPyramid packed = pyramid instanceof PackedPyramid p ? p : null;
+        final int[] cells = packed != null ? packed.getCells() : new int[rows];
+
+        // dp[row][col] is kept at index col + 1, with sentinels at 0 and width + 1
+        long[] below = new long[rows + 2];
+        long[] current = new long[rows + 2];
+        below[0] = SENTINEL;
+        below[1] = pyramid.get(rows - 1, 0);
+        below[2] = SENTINEL;
+
+        for (int row = rows - 2; row >= 0; row--) {
+            final int offset;
+            if (packed != null) {
+                offset = packed.rowOffset(row);
+            } else {
+                pyramid.copyRow(row, cells);
+                offset = 0;
+            }
+            final int width = rows - row;
+            mergeRow(cells, offset, below, current, width);
+
+            current[0] = SENTINEL;
+            current[width + 1] = SENTINEL;
+            final long[] swap = below;
+            below = current;
+            current = swap;
+        }
+
+        long max = below[1];
+        for (int col = 2; col <= rows; col++) {
+            max = Math.max(max, below[col]);
+        }
+        return max;
+    }
+
+    private static void mergeRow(int[] cells, int offset, long[] below, long[] current, int width) {
+        final int bound = LONGS.loopBound(width);
+        int col = 0;
+        for (; col < bound; col += LONGS.length()) {
+            final LongVector left = LongVector.fromArray(LONGS, below, col);
+            final LongVector right = LongVector.fromArray(LONGS, below, col + 1);
+            final LongVector values = (LongVector) IntVector.fromArray(INTS, cells, offset + col)
+                    .convertShape(VectorOperators.I2L, LONGS, 0);
+            left.max(right).add(values).intoArray(current, col + 1);
+        }
+        for (; col < width; col++) {
+            current[col + 1] = cells[offset + col] + Math.max(below[col], below[col + 1]);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ncr.test.pyramid.solver.impl;
 
+import com.ncr.test.pyramid.data.PackedPyramid;
 import com.ncr.test.pyramid.data.Pyramid;
 import com.ncr.test.pyramid.solver.PyramidSolver;
 
@@ -33,12 +34,33 @@ import java.util.Arrays;
  *           [3]                   [3]
  * <p>
  * Optimal path: 3 → 6 → 6 → 9 = 24
+ * <p>
+ * A {@link PackedPyramid} is solved directly on its packed cell array with a single
+ * rolling DP row (see {@link #solvePacked(PackedPyramid, long[])}). Pyramids which are neither
+ * packed nor array-backed, such as memory-mapped files, are read one row at a time
+ * (see {@link #solveByRows(Pyramid, int[], long[])}), so they are never copied onto the heap as a whole.
  */
 public class YourSolver implements PyramidSolver {
 
+    /**
+     * @return the maximum path total, or 0 for an empty pyramid, whatever its layout
+     */
     @Override
     public long pyramidMaximumTotal(Pyramid pyramid) {
+        if (pyramid instanceof PackedPyramid packed) {
+            return solvePacked(packed, new long[packed.getRows()]);
+        }
+        if (!pyramid.isArrayBacked()) {
+            return solveByRows(pyramid, new int[pyramid.getRows()], new long[pyramid.getRows()]);
+        }
+        return solveArray(pyramid);
+    }
+
+    private static long solveArray(Pyramid pyramid) {
         int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
         int[][] data = pyramid.getData();
 
         // Create DP table: dp[i][j] = maximum sum to reach position (i,j) from bottom
@@ -78,6 +100,116 @@ public class YourSolver implements PyramidSolver {
                 .orElse(0L);
     }
 
+    /**
+     * Same recurrence as {@link #solveArray(Pyramid)}, but reading the packed cells
+     * and keeping only one DP row.
+     * <p>
+     * {@code frontier[col]} holds dp[row + 1][col] before and dp[row][col] after a row is
+     * processed. The current row is one cell wider than the row below, so columns are
+     * visited from right to left: dp[row][col] needs frontier[col - 1] and frontier[col],
+     * and neither of them has been overwritten yet when col is visited.
+     *
+     * @param frontier DP row of at least {@code rows} cells, overwritten
+     */
+    static long solvePacked(PackedPyramid pyramid, long[] frontier) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
+        final int[] cells = pyramid.getCells();
+
+        // Base case: the single cell of the bottom row, which is the last packed cell
+        frontier[0] = cells[pyramid.rowOffset(rows - 1)];
+
+        for (int row = rows - 2; row >= 0; row--) {
+            final int offset = pyramid.rowOffset(row);
+            final int last = rows - row - 1;
+
+            // Rightmost cell: only (row+1, col-1) exists below it
+            frontier[last] = cells[offset + last] + frontier[last - 1];
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = cells[offset + col] + Math.max(frontier[col - 1], frontier[col]);
+            }
+            // Leftmost cell: only (row+1, col) exists below it
+            frontier[0] = cells[offset] + frontier[0];
+        }
+
+        long max = frontier[0];
+        for (int col = 1; col < rows; col++) {
+            max = Math.max(max, frontier[col]);
+        }
+        return max;
+    }
+
+    /**
+     * Same recurrence as {@link #solvePacked(PackedPyramid, long[])}, but keeping the whole
+     * DP table: dp[row][col] is stored at {@code pyramid.rowOffset(row) + col}, i.e. in the
+     * packed layout of the pyramid itself.
+     *
+     * @param dp table of at least {@code cellCount(rows)} values, overwritten
+     */
+    static long solveTable(PackedPyramid pyramid, long[] dp) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
+        final int[] cells = pyramid.getCells();
+
+        int below = pyramid.rowOffset(rows - 1);
+        dp[below] = cells[below];
+
+        for (int row = rows - 2; row >= 0; row--) {
+            final int offset = pyramid.rowOffset(row);
+            final int last = rows - row - 1;
+
+            dp[offset] = cells[offset] + dp[below];
+            for (int col = 1; col < last; col++) {
+                dp[offset + col] = cells[offset + col] + Math.max(dp[below + col - 1], dp[below + col]);
+            }
+            dp[offset + last] = cells[offset + last] + dp[below + last - 1];
+            below = offset;
+        }
+
+        long max = dp[0];
+        for (int col = 1; col < rows; col++) {
+            max = Math.max(max, dp[col]);
+        }
+        return max;
+    }
+
+    /**
+     * Same as {@link #solvePacked(PackedPyramid, long[])}, but fetching each row through
+     * {@link Pyramid#copyRow(int, int[])} into a reused row buffer.
+     *
+     * @param cells    row buffer of at least {@code rows} cells, overwritten
+     * @param frontier DP row of at least {@code rows} cells, overwritten
+     */
+    static long solveByRows(Pyramid pyramid, int[] cells, long[] frontier) {
+        final int rows = pyramid.getRows();
+        if (rows == 0) {
+            return 0L;
+        }
+
+        frontier[0] = pyramid.get(rows - 1, 0);
+
+        for (int row = rows - 2; row >= 0; row--) {
+            pyramid.copyRow(row, cells);
+            final int last = rows - row - 1;
+
+            frontier[last] = cells[last] + frontier[last - 1];
+            for (int col = last - 1; col > 0; col--) {
+                frontier[col] = cells[col] + Math.max(frontier[col - 1], frontier[col]);
+            }
+            frontier[0] = cells[0] + frontier[0];
+        }
+
+        long max = frontier[0];
+        for (int col = 1; col < rows; col++) {
+            max = Math.max(max, frontier[col]);
+        }
+        return max;
+    }
+
     /**
      * Calculate the maximum sum from positions below that can reach the current position.
      * <p>
@@ -0,0 +1,66 @@
+package com.ncr.test.pyramid.solver.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide named {@link SolverMetrics}, each registered with the platform MBean server
+ * as {@code com.ncr.test.pyramid:type=SolverMetrics,name=<name>}.
+ */
+public final class MetricsRegistry {
+
+    static final String DOMAIN = "com.ncr.test.pyramid";
+
+    private static final Map<String, SolverMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Returns the metrics of that name, creating and registering them on first use.
+     */
+    public static SolverMetrics metrics(String name) {
+        return METRICS.computeIfAbsent(name, MetricsRegistry::register);
+    }
+
+    public static Set<String> names() {
+        return Set.copyOf(METRICS.keySet());
+    }
+
+    /**
+     * Drops the metrics of that name and their MBean; a later {@link #metrics(String)} starts from zero.
+     */
+    public static void remove(String name) {
+        if (METRICS.remove(name) != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(name));
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot unregister metrics " + name, e);
+            }
+        }
+    }
+
+    public static ObjectName objectName(String name) {
+        try {
+            return new ObjectName(DOMAIN + ":type=SolverMetrics,name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid metrics name " + name, e);
+        }
+    }
+
+    private static SolverMetrics register(String name) {
+        final SolverMetrics metrics = new SolverMetrics(name);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(metrics, objectName(name));
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics " + name, e);
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ncr.test.pyramid.solver.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the time between two sampled row reads of a solve.
+ */
+@Name("com.ncr.test.pyramid.RowBlock")
+@Label("Pyramid Row Block")
+@Category({"Pyramid", "Solver"})
+@Description("Time from reading one sampled row to reading the next one")
+public class RowBlockEvent extends Event {
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("First Row")
+    public int firstRow;
+
+    @Label("Last Row")
+    public int lastRow;
+}
@@ -0,0 +1,37 @@
+package com.ncr.test.pyramid.solver.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one solve of an instrumented solver.
+ */
+@Name("com.ncr.test.pyramid.Solve")
+@Label("Pyramid Solve")
+@Category({"Pyramid", "Solver"})
+@Description("One pyramidMaximumTotal call of an instrumented solver")
+public class SolveEvent extends Event {
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Cells")
+    public long cells;
+
+    @Label("Total")
+    public long total;
+
+    @Label("Allocated")
+    @DataAmount
+    public long allocatedBytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
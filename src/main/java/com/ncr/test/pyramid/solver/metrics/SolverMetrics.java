@@ -0,0 +1,170 @@
+package com.ncr.test.pyramid.solver.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one solver: solves, failures, rows, cells, allocated bytes and a latency
+ * histogram with power-of-two buckets.
+ * <p>
+ * Recording is lock free; counters are {@link LongAdder}s so that threads solving in
+ * parallel do not contend on one cache line. Readings taken while solves are being
+ * recorded are not an atomic snapshot of all counters.
+ */
+public final class SolverMetrics implements SolverMetricsMXBean {
+
+    static final int BUCKETS = Long.SIZE + 1;
+
+    private final String name;
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder cells = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Metrics not known to the {@link MetricsRegistry}; see {@link MetricsRegistry#metrics(String)}
+     * for shared, JMX-visible instances.
+     */
+    public SolverMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a successful solve.
+     *
+     * @param allocated bytes allocated during the solve, or 0 if unknown
+     */
+    public void recordSolve(long nanos, int rows, long cells, long allocated) {
+        solves.increment();
+        this.rows.add(rows);
+        this.cells.add(cells);
+        allocatedBytes.add(allocated);
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.incrementAndGet(bucket(nanos));
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Histogram bucket of a latency: 0 for 0 ns, else one plus the index of the highest set bit.
+     */
+    static int bucket(long nanos) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, nanos));
+    }
+
+    /**
+     * Upper bound of the bucket holding the given fraction of solves, e.g. 0.99.
+     */
+    public long getLatencyPercentileNanos(double fraction) {
+        final long[] counts = getLatencyHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public long getSolveCount() {
+        return solves.sum();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getRowsProcessed() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getCellsProcessed() {
+        return cells.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public long getTotalSolveNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long getMaxSolveNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public double getCellsPerSecond() {
+        final long nanos = totalNanos.sum();
+        return nanos == 0 ? 0 : cells.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return getLatencyPercentileNanos(0.50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return getLatencyPercentileNanos(0.99);
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        solves.reset();
+        failures.reset();
+        rows.reset();
+        cells.reset();
+        allocatedBytes.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d solves, %,d failures, %,d cells, %,.0f cells/s, p50 <= %,d ns, p99 <= %,d ns",
+                name, getSolveCount(), getFailureCount(), getCellsProcessed(), getCellsPerSecond(),
+                getLatencyP50Nanos(), getLatencyP99Nanos());
+    }
+}
@@ -0,0 +1,37 @@
+package com.ncr.test.pyramid.solver.metrics;
+
+/**
+ * JMX view of a {@link SolverMetrics} instance; times are in nanoseconds.
+ */
+public interface SolverMetricsMXBean {
+
+    long getSolveCount();
+
+    long getFailureCount();
+
+    long getRowsProcessed();
+
+    long getCellsProcessed();
+
+    /**
+     * Bytes allocated by the calling threads while solving; 0 if the JVM cannot tell.
+     */
+    long getAllocatedBytes();
+
+    long getTotalSolveNanos();
+
+    long getMaxSolveNanos();
+
+    double getCellsPerSecond();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    /**
+     * Solve counts per latency bucket; bucket {@code i > 0} holds latencies in {@code [2^(i-1), 2^i)} ns.
+     */
+    long[] getLatencyHistogram();
+
+    void reset();
+}
@@ -0,0 +1,67 @@
+package com.ncr.test.pyramid.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor helpers.
+ * <p>
+ * The project compiles for Java 17, where virtual threads do not exist yet, so they
+ * are looked up reflectively and used only when the running JVM (21+) provides them.
+ */
+public final class ThreadPools {
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private ThreadPools() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * An executor starting a virtual thread per task when the JVM supports them,
+     * otherwise a fixed pool of {@code fallbackThreads} daemon threads.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(int fallbackThreads, String name) {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot create a virtual thread executor", e);
+            }
+        }
+        return newFixedThreadPool(fallbackThreads, name);
+    }
+
+    /**
+     * A fixed pool of daemon threads named {@code name-1}, {@code name-2}, ...
+     */
+    public static ExecutorService newFixedThreadPool(int threads, String name) {
+        return Executors.newFixedThreadPool(threads, daemonThreadFactory(name));
+    }
+
+    public static ThreadFactory daemonThreadFactory(String name) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static MethodHandle findVirtualThreadExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
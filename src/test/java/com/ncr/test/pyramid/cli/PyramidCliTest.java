@@ -0,0 +1,152 @@
+package com.ncr.test.pyramid.cli;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.ParallelPyramidGenerator;
+import com.ncr.test.pyramid.io.BinaryPyramidWriter;
+import com.ncr.test.pyramid.solver.PyramidTestData;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pyramid CLI Tests")
+class PyramidCliTest {
+
+    private static final String DEMO_TEXT = "59 207 98 95\n87 1 70\n36 41\n23\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("Should parse options and default to standard input")
+    void shouldParseOptions() {
+        PyramidCli.Options defaults = PyramidCli.Options.parse();
+        assertEquals(List.of(PyramidCli.STDIN), defaults.inputs());
+        assertEquals(PyramidCli.Format.CSV, defaults.format());
+        assertFalse(defaults.print());
+
+        PyramidCli.Options options = PyramidCli.Options.parse("--format", "jsonl", "--threads", "3", "--path", "a", "b");
+        assertEquals(List.of("a", "b"), options.inputs());
+        assertEquals(PyramidCli.Format.JSONL, options.format());
+        assertEquals(3, options.threads());
+        assertTrue(options.withPath());
+
+        assertThrows(IllegalArgumentException.class, () -> PyramidCli.Options.parse("--format", "xml"));
+        assertThrows(IllegalArgumentException.class, () -> PyramidCli.Options.parse("--threads", "0"));
+        assertThrows(IllegalArgumentException.class, () -> PyramidCli.Options.parse("--io-threads"));
+        assertThrows(IllegalArgumentException.class, () -> PyramidCli.Options.parse("--verbose"));
+    }
+
+    @Test
+    @DisplayName("Should solve a text pyramid from standard input")
+    void shouldSolveStandardInput() throws IOException {
+        PyramidCli.Summary summary = run(DEMO_TEXT, "--path");
+
+        assertEquals("file,rows,total,moves,error\n-,4,353,LLR,\n", output());
+        assertEquals(1, summary.files());
+        assertEquals(0, summary.failed());
+        assertEquals(10, summary.cells());
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("1 pyramids (0 failed)"));
+    }
+
+    @Test
+    @DisplayName("Should solve a directory of text and binary files in input order")
+    void shouldSolveDirectory() throws IOException {
+        BinaryPyramidWriter writer = new BinaryPyramidWriter();
+        long[] expected = new long[12];
+        for (int i = 0; i < expected.length; i++) {
+            Pyramid pyramid = new ParallelPyramidGenerator(20 + i, 1000, i).generatePyramid();
+            expected[i] = new YourSolver().pyramidMaximumTotal(pyramid);
+            Path file = tempDir.resolve(String.format("p%02d.pyr", i));
+            if (i % 2 == 0) {
+                writer.write(pyramid, file);
+            } else {
+                Files.writeString(file, pyramid.toString());
+            }
+        }
+
+        PyramidCli.Summary summary = run("", "--threads", "2", "--io-threads", "2", tempDir.toString());
+
+        String[] lines = output().split("\n");
+        assertEquals(expected.length + 1, lines.length);
+        for (int i = 0; i < expected.length; i++) {
+            String file = tempDir.resolve(String.format("p%02d.pyr", i)).toString();
+            assertEquals(file + "," + (20 + i) + "," + expected[i] + ",", lines[i + 1]);
+        }
+        assertEquals(expected.length, summary.files());
+    }
+
+    @Test
+    @DisplayName("Should report unreadable files as JSON lines and keep going")
+    void shouldReportFailuresAsJsonLines() throws IOException {
+        Path good = Files.writeString(tempDir.resolve("good.txt"), DEMO_TEXT);
+        Path bad = Files.writeString(tempDir.resolve("bad.txt"), "1 2\n3 x\n");
+        Path missing = tempDir.resolve("missing.txt");
+
+        PyramidCli.Summary summary = run("", "--format", "jsonl", bad.toString(), missing.toString(), good.toString());
+
+        String[] lines = output().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"file\":\"" + bad + "\",\"error\":\"Row 1, column 1"), lines[0]);
+        assertTrue(lines[1].startsWith("{\"file\":\"" + missing + "\",\"error\":"), lines[1]);
+        assertEquals("{\"file\":\"" + good + "\",\"rows\":4,\"total\":" + PyramidTestData.DEMO_EXPECTED + "}", lines[2]);
+        assertEquals(2, summary.failed());
+    }
+
+    @Test
+    @DisplayName("Should print pyramids to standard error only when asked")
+    void shouldPrintOnlyWhenAsked() throws IOException {
+        run(DEMO_TEXT);
+        assertFalse(err.toString(StandardCharsets.UTF_8).contains("[00059]"));
+
+        err.reset();
+        run(DEMO_TEXT, "--print");
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("[00059]"));
+    }
+
+    @Test
+    @DisplayName("Should write results to the output file")
+    void shouldWriteOutputFile() throws IOException {
+        Path results = tempDir.resolve("results.csv");
+
+        run(DEMO_TEXT, "--output", results.toString());
+
+        assertEquals("", output());
+        assertEquals("file,rows,total,error\n-,4,353,\n", Files.readString(results));
+    }
+
+    @Test
+    @DisplayName("Should quote CSV fields holding separators, quotes or line breaks")
+    void shouldQuoteCsvFields() {
+        assertEquals("plain.txt", PyramidCli.csv("plain.txt"));
+        assertEquals("\"a,b\"", PyramidCli.csv("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", PyramidCli.csv("say \"hi\""));
+        assertEquals("\"a\nb\"", PyramidCli.csv("a\nb"));
+        assertEquals("\"a\rb\"", PyramidCli.csv("a\rb"));
+    }
+
+    private PyramidCli.Summary run(String stdin, String... args) throws IOException {
+        out.reset();
+        return new PyramidCli(PyramidCli.Options.parse(args)).run(
+                new ByteArrayInputStream(stdin.getBytes(StandardCharsets.US_ASCII)), out,
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    private String output() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
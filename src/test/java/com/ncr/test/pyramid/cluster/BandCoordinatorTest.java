@@ -0,0 +1,126 @@
+package com.ncr.test.pyramid.cluster;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.ParallelPyramidGenerator;
+import com.ncr.test.pyramid.io.BinaryPyramidFormat;
+import com.ncr.test.pyramid.solver.PyramidTestData;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BandCoordinator Tests")
+class BandCoordinatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @DisplayName("Should split into contiguous bands of about equal cell counts")
+    @CsvSource({"1, 1", "3, 5", "100, 1", "100, 4", "1000, 7"})
+    void shouldSplitIntoBalancedBands(int rows, int bands) throws IOException {
+        Pyramid pyramid = new ParallelPyramidGenerator(rows, 100, rows).generatePyramid();
+
+        List<Path> files = BandCoordinator.split(pyramid, tempDir, bands);
+
+        assertEquals(Math.min(rows, bands), files.size());
+        int nextRow = 0;
+        for (Path file : files) {
+            BinaryPyramidFormat.BandHeader header = BinaryPyramidFormat.readBandHeader(
+                    ByteBuffer.wrap(Files.readAllBytes(file)).order(BinaryPyramidFormat.BYTE_ORDER));
+            assertEquals(rows, header.rows());
+            assertEquals(nextRow, header.firstRow());
+            assertEquals(header.fileSize(), Files.size(file));
+            // Bands end on row boundaries, so they may be off by a row
+            assertTrue(Math.abs(header.cellCount() - PackedPyramid.cellCount(rows) / files.size()) <= rows);
+            nextRow = header.endRow();
+        }
+        assertEquals(rows, nextRow);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should match YourSolver when chaining the workers in process")
+    @CsvSource({"1, 1", "2, 2", "7, 3", "300, 4", "501, 9"})
+    void shouldMatchYourSolverInProcess(int rows, int bands) throws IOException {
+        PackedPyramid pyramid = new ParallelPyramidGenerator(rows, 100_000, rows).generatePyramid();
+        int[] cells = pyramid.getCells();
+        for (int i = 0; i < cells.length; i += 5) {
+            cells[i] = -cells[i];
+        }
+
+        InputStream above = InputStream.nullInputStream();
+        for (Path band : BandCoordinator.split(pyramid, tempDir, bands)) {
+            ByteArrayOutputStream below = new ByteArrayOutputStream();
+            BandWorker.solve(band, above, below);
+            above = new ByteArrayInputStream(below.toByteArray());
+        }
+
+        assertArrayEquals(new long[]{new YourSolver().pyramidMaximumTotal(pyramid)}, Frontier.read(above));
+    }
+
+    @Test
+    @DisplayName("Should reject a frontier of the wrong width")
+    void shouldRejectWrongFrontier() throws IOException {
+        List<Path> files = BandCoordinator.split(new Pyramid(PyramidTestData.DEMO_DATA), tempDir, 2);
+        ByteArrayOutputStream frontier = new ByteArrayOutputStream();
+        Frontier.write(frontier, new long[]{1, 2}, 2);
+
+        assertThrows(IOException.class, () -> BandWorker.solve(files.get(1),
+                new ByteArrayInputStream(frontier.toByteArray()), OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Should reject band files with a gap")
+    void shouldRejectMissingBand() throws IOException {
+        List<Path> files = BandCoordinator.split(new Pyramid(PyramidTestData.DEMO_DATA), tempDir, 3);
+
+        IOException error = assertThrows(IOException.class,
+                () -> new BandCoordinator().solve(List.of(files.get(0), files.get(2))));
+        assertTrue(error.getMessage().contains("expected"), error.getMessage());
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Should solve in separate worker processes like YourSolver")
+    void shouldSolveInWorkerProcesses() {
+        PackedPyramid pyramid = new ParallelPyramidGenerator(800, 1000, PyramidTestData.RANDOM_TEST_SEED)
+                .generatePyramid();
+        BandCoordinator coordinator = new BandCoordinator(3, List.of("-Xmx32m"));
+
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), coordinator.pyramidMaximumTotal(pyramid));
+        assertEquals(PyramidTestData.DEMO_EXPECTED,
+                coordinator.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA)));
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Should report a failing worker")
+    void shouldReportFailingWorker() throws IOException {
+        List<Path> files = BandCoordinator.split(new ParallelPyramidGenerator(100, 1000, 1).generatePyramid(),
+                tempDir, 3);
+        try (FileChannel channel = FileChannel.open(files.get(1), WRITE)) {
+            channel.truncate(BinaryPyramidFormat.BAND_HEADER_SIZE + 10);
+        }
+
+        IOException error = assertThrows(IOException.class, () -> new BandCoordinator().solve(files));
+        assertTrue(error.getMessage().contains(files.get(1).toString()), error.getMessage());
+    }
+}
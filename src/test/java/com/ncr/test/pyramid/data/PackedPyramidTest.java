@@ -0,0 +1,60 @@
+package com.ncr.test.pyramid.data;
+
+import com.ncr.test.pyramid.solver.PyramidTestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PackedPyramid Tests")
+class PackedPyramidTest {
+
+    @Test
+    @DisplayName("Should pack rows one after another without padding")
+    void shouldPackRowsContiguously() {
+        PackedPyramid pyramid = PackedPyramid.of(PyramidTestData.DEMO_DATA);
+
+        assertArrayEquals(new int[]{59, 207, 98, 95, 87, 1, 70, 36, 41, 23}, pyramid.getCells());
+        assertEquals(4, pyramid.getRows());
+    }
+
+    @Test
+    @DisplayName("Should address cells like the jagged form")
+    void shouldAddressCellsLikeJaggedForm() {
+        Pyramid jagged = new Pyramid(PyramidTestData.SAMPLE_DATA);
+        PackedPyramid packed = PackedPyramid.of(jagged);
+
+        for (int row = 0; row < jagged.getRows(); row++) {
+            for (int col = 0; col < jagged.getRowLength(row); col++) {
+                assertEquals(jagged.get(row, col), packed.get(row, col), "cell [" + row + "," + col + "]");
+            }
+        }
+        assertEquals(jagged.toString(), packed.toString());
+    }
+
+    @Test
+    @DisplayName("Should compute row offsets and slices")
+    void shouldComputeRowOffsetsAndSlices() {
+        PackedPyramid pyramid = PackedPyramid.of(PyramidTestData.DEMO_DATA);
+
+        assertEquals(0, pyramid.rowOffset(0));
+        assertEquals(4, pyramid.rowOffset(1));
+        assertEquals(7, pyramid.rowOffset(2));
+        assertEquals(9, pyramid.rowOffset(3));
+        assertArrayEquals(new int[]{87, 1, 70}, pyramid.getRow(1));
+        assertArrayEquals(new int[]{36, 41}, pyramid.getData()[2]);
+        assertEquals(55L, PackedPyramid.cellCount(10));
+    }
+
+    @Test
+    @DisplayName("Should reject a cell array that is too short")
+    void shouldRejectShortCellArray() {
+        assertThrows(IllegalArgumentException.class, () -> new PackedPyramid(3, new int[5]));
+    }
+
+    @Test
+    @DisplayName("Should reject a negative row count")
+    void shouldRejectNegativeRows() {
+        assertThrows(IllegalArgumentException.class, () -> new PackedPyramid(-1, new int[0]));
+    }
+}
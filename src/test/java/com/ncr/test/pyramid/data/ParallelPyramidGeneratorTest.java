@@ -0,0 +1,58 @@
+package com.ncr.test.pyramid.data;
+
+import com.ncr.test.pyramid.data.impl.ParallelPyramidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelPyramidGenerator Tests")
+class ParallelPyramidGeneratorTest {
+
+    private static final long SEED = 25321L;
+
+    @ParameterizedTest
+    @DisplayName("Should generate the same pyramid whatever the parallelism")
+    @ValueSource(ints = {1, 255, 256, 257, 1000})
+    void shouldNotDependOnParallelism(int rows) {
+        int[] sequential = new ParallelPyramidGenerator(rows, 1000, SEED, 1).generatePyramid().getCells();
+
+        assertArrayEquals(sequential, new ParallelPyramidGenerator(rows, 1000, SEED, 3).generatePyramid().getCells());
+        assertArrayEquals(sequential, new ParallelPyramidGenerator(rows, 1000, SEED, 8).generatePyramid().getCells());
+        assertArrayEquals(sequential, new ParallelPyramidGenerator(rows, 1000, SEED).generatePyramid().getCells());
+    }
+
+    @Test
+    @DisplayName("Should draw values from [1, range]")
+    void shouldDrawValuesInRange() {
+        int[] cells = new ParallelPyramidGenerator(600, 7, SEED).generatePyramid().getCells();
+
+        assertEquals(1, Arrays.stream(cells).min().orElseThrow());
+        assertEquals(7, Arrays.stream(cells).max().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should give different pyramids for different seeds")
+    void shouldDependOnSeed() {
+        int[] first = new ParallelPyramidGenerator(300, 1000, SEED).generatePyramid().getCells();
+        int[] second = new ParallelPyramidGenerator(300, 1000, SEED + 1).generatePyramid().getCells();
+
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    @Test
+    @DisplayName("Should fill a preallocated pyramid of the same size only")
+    void shouldFillPreallocatedPyramid() {
+        ParallelPyramidGenerator generator = new ParallelPyramidGenerator(300, 1000, SEED);
+        PackedPyramid target = PackedPyramid.allocate(300);
+
+        generator.fill(target);
+
+        assertArrayEquals(generator.generatePyramid().getCells(), target.getCells());
+        assertThrows(IllegalArgumentException.class, () -> generator.fill(PackedPyramid.allocate(299)));
+    }
+}
@@ -0,0 +1,72 @@
+package com.ncr.test.pyramid.data;
+
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProceduralPyramid Tests")
+class ProceduralPyramidTest {
+
+    private static final long SEED = 25321L;
+
+    @Test
+    @DisplayName("Should give the same cells for the same seed")
+    void shouldBeReproducible() {
+        ProceduralPyramid first = new ProceduralPyramid(200, 1000, SEED);
+        ProceduralPyramid second = new ProceduralPyramid(200, 1000, SEED);
+
+        assertArrayEquals(PackedPyramid.of(first).getCells(), PackedPyramid.of(second).getCells());
+        assertFalse(Arrays.equals(PackedPyramid.of(first).getCells(),
+                PackedPyramid.of(new ProceduralPyramid(200, 1000, SEED + 1)).getCells()));
+    }
+
+    @Test
+    @DisplayName("Should return the same values from get and copyRow")
+    void shouldMatchRowCopies() {
+        ProceduralPyramid pyramid = new ProceduralPyramid(50, 1000, SEED);
+        int[] row = new int[50];
+
+        for (int r = 0; r < 50; r++) {
+            pyramid.copyRow(r, row);
+            for (int c = 0; c < pyramid.getRowLength(r); c++) {
+                assertEquals(row[c], pyramid.get(r, c));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should draw values from [1, range]")
+    void shouldDrawValuesInRange() {
+        int[] cells = PackedPyramid.of(new ProceduralPyramid(300, 5, SEED)).getCells();
+
+        assertEquals(1, Arrays.stream(cells).min().orElseThrow());
+        assertEquals(5, Arrays.stream(cells).max().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should solve like its materialized copy")
+    void shouldSolveLikeMaterializedCopy() {
+        ProceduralPyramid pyramid = new ProceduralPyramid(500, 1_000_000, SEED);
+        YourSolver solver = new YourSolver();
+
+        assertEquals(solver.pyramidMaximumTotal(new Pyramid(pyramid.getData())), solver.pyramidMaximumTotal(pyramid));
+    }
+
+    @Test
+    @DisplayName("Should read any cell of a pyramid too large to store")
+    void shouldReadCellsOfHugePyramid() {
+        ProceduralPyramid pyramid = new ProceduralPyramid(Integer.MAX_VALUE, 100, SEED);
+
+        int bottom = pyramid.get(Integer.MAX_VALUE - 1, 0);
+        int corner = pyramid.get(0, Integer.MAX_VALUE - 1);
+
+        assertTrue(bottom >= 1 && bottom <= 100);
+        assertTrue(corner >= 1 && corner <= 100);
+        assertEquals(bottom, new ProceduralPyramid(Integer.MAX_VALUE, 100, SEED).get(Integer.MAX_VALUE - 1, 0));
+        assertThrows(UnsupportedOperationException.class, pyramid::getData);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ncr.test.pyramid.data;
+
+import com.ncr.test.pyramid.solver.PyramidTestData;
+import com.ncr.test.pyramid.utils.Util;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PyramidRenderer Tests")
+class PyramidRendererTest {
+
+    /**
+     * The original {@link Pyramid#toString()} implementation.
+     */
+    private static String formatted(Pyramid pyramid) {
+        final StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < pyramid.getRows(); row++) {
+            sb.append(Util.repeatChar(' ', 4 * row));
+            for (int col = 0; col < pyramid.getRowLength(row); col++) {
+                sb.append(String.format("[%05d] ", pyramid.get(row, col)));
+            }
+            sb.append(Util.NEW_LINE);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Should match String.format for any value")
+    void shouldMatchFormatForAnyValue() {
+        int[] values = {0, 1, -1, 9, -9, 12, 99999, 100000, -9999, -10000, -12345, 123456789,
+                Integer.MAX_VALUE, Integer.MIN_VALUE};
+        StringBuilder sb = new StringBuilder();
+        char[] digits = new char[11];
+
+        for (int value : values) {
+            sb.setLength(0);
+            PyramidRenderer.appendCell(sb, value, digits);
+            assertEquals(String.format("[%05d] ", value), sb.toString(), "value " + value);
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should render like the original toString")
+    @ValueSource(ints = {0, 1, 4, 99, 300})
+    void shouldRenderLikeOriginalToString(int rows) {
+        Pyramid pyramid = new ProceduralPyramid(rows, 200_000, 25321L);
+
+        assertEquals(formatted(pyramid), pyramid.toString());
+        assertEquals(formatted(pyramid), PyramidRenderer.elided(rows + 1, rows + 1).render(pyramid));
+    }
+
+    @Test
+    @DisplayName("Should stream the same text to a Writer")
+    void shouldStreamToWriter() throws IOException {
+        Pyramid pyramid = new ProceduralPyramid(200, 1000, 1L);
+        StringWriter writer = new StringWriter();
+
+        PyramidRenderer.FULL.render(pyramid, writer);
+
+        assertEquals(formatted(pyramid), writer.toString());
+    }
+
+    @Test
+    @DisplayName("Should render the demo pyramid")
+    void shouldRenderDemoPyramid() {
+        String nl = Util.NEW_LINE;
+
+        assertEquals("[00059] [00207] [00098] [00095] " + nl
+                        + "    [00087] [00001] [00070] " + nl
+                        + "        [00036] [00041] " + nl
+                        + "            [00023] " + nl,
+                new Pyramid(PyramidTestData.DEMO_DATA).toString());
+    }
+
+    @Test
+    @DisplayName("Should elide middle rows and columns of large pyramids")
+    void shouldElideLargePyramids() {
+        Pyramid pyramid = new ProceduralPyramid(1_000_000, 9, 25321L);
+
+        String[] lines = PyramidRenderer.elided(4, 3).render(pyramid).split(Util.NEW_LINE);
+
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].matches("(\\[0000\\d] ){2}\\.\\.\\. \\[0000\\d] "), lines[0]);
+        assertEquals(" ".repeat(8) + "... 999996 more rows", lines[2]);
+        assertTrue(lines[3].startsWith(" ".repeat(4 * 999_998) + "["), "row 999998 indentation");
+        assertEquals(" ".repeat(4 * 999_999) + String.format("[%05d] ", pyramid.get(999_999, 0)), lines[4]);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive limits")
+    void shouldRejectNonPositiveLimits() {
+        assertThrows(IllegalArgumentException.class, () -> PyramidRenderer.elided(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> PyramidRenderer.elided(5, 0));
+    }
+}
@@ -0,0 +1,129 @@
+package com.ncr.test.pyramid.io;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.PyramidSolver;
+import com.ncr.test.pyramid.solver.PyramidTestData;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Binary Pyramid File Tests")
+class BinaryPyramidReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final BinaryPyramidWriter writer = new BinaryPyramidWriter();
+    private final BinaryPyramidReader reader = new BinaryPyramidReader();
+
+    @Test
+    @DisplayName("Should write the header and packed cells")
+    void shouldWriteHeaderAndCells() throws IOException {
+        Path file = tempDir.resolve("demo.pyr");
+        writer.write(new Pyramid(PyramidTestData.DEMO_DATA), file);
+
+        // 207 does not fit into a signed byte
+        assertEquals(BinaryPyramidFormat.fileSize(4, Short.BYTES), Files.size(file));
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals('P', bytes[0]);
+        assertEquals('Y', bytes[1]);
+        assertEquals('R', bytes[2]);
+        assertEquals('M', bytes[3]);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should round trip through every cell width")
+    @ValueSource(ints = {1, 2, 4})
+    void shouldRoundTripEveryCellWidth(int cellWidth) throws IOException {
+        Pyramid original = new Pyramid(PyramidTestData.NEGATIVE_VALUES);
+        Path file = tempDir.resolve("negative.pyr");
+        writer.write(original, file, cellWidth);
+
+        MappedPyramid mapped = reader.map(file);
+
+        assertEquals(cellWidth, mapped.getCellWidth());
+        assertArrayEquals(PackedPyramid.of(original).getCells(), PackedPyramid.of(mapped).getCells());
+        assertEquals(-5, mapped.get(1, 1));
+    }
+
+    @Test
+    @DisplayName("Should solve a mapped pyramid like the heap pyramid")
+    void shouldSolveMappedPyramid() throws IOException {
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        Pyramid original = new RandomPyramidGenerator(300, 100_000).generatePyramid();
+        Path file = tempDir.resolve("random.pyr");
+        writer.write(original, file);
+
+        PyramidSolver solver = new YourSolver();
+        MappedPyramid mapped = reader.map(file);
+
+        assertEquals(Integer.BYTES, mapped.getCellWidth());
+        assertEquals(solver.pyramidMaximumTotal(original), solver.pyramidMaximumTotal(mapped));
+        assertEquals(original.toString(), reader.read(file).toString());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should read a pyramid from a buffer and advance past it")
+    @ValueSource(ints = {1, 2, 4})
+    void shouldReadFromBuffer(int cellWidth) throws IOException {
+        Pyramid original = new Pyramid(PyramidTestData.NEGATIVE_VALUES);
+        Path file = tempDir.resolve("negative.pyr");
+        writer.write(original, file, cellWidth);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3).put(bytes).put(new byte[3]).flip();
+
+        PackedPyramid read = reader.read(buffer);
+
+        assertArrayEquals(PackedPyramid.of(original).getCells(), read.getCells());
+        assertEquals(bytes.length, buffer.position());
+        assertThrows(IOException.class, () -> reader.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1))));
+    }
+
+    @Test
+    @DisplayName("Should reject a value too wide for the requested cell width")
+    void shouldRejectTooWideValue() {
+        Path file = tempDir.resolve("narrow.pyr");
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.write(new Pyramid(PyramidTestData.DEMO_DATA), file, Byte.BYTES));
+    }
+
+    @Test
+    @DisplayName("Should reject an unsupported cell width before touching the file")
+    void shouldRejectUnsupportedCellWidth() throws IOException {
+        Path file = tempDir.resolve("existing.pyr");
+        writer.write(new Pyramid(PyramidTestData.DEMO_DATA), file);
+        byte[] before = Files.readAllBytes(file);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.write(new Pyramid(PyramidTestData.DEMO_DATA), file, 3));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(new Pyramid(new int[0][]), file, 8));
+
+        assertArrayEquals(before, Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("Should reject files which are not pyramids or are truncated")
+    void shouldRejectBadFiles() throws IOException {
+        Path garbage = Files.write(tempDir.resolve("garbage.pyr"), "not a pyramid file".getBytes());
+        assertThrows(IOException.class, () -> reader.map(garbage));
+
+        Path file = tempDir.resolve("sample.pyr");
+        writer.write(new Pyramid(PyramidTestData.SAMPLE_DATA), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = Files.write(tempDir.resolve("truncated.pyr"), Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> reader.map(truncated));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ncr.test.pyramid.io;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.ProceduralPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.PyramidTestData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PyramidTextParser Tests")
+class PyramidTextParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final PyramidTextParser parser = new PyramidTextParser();
+
+    private static ByteBuffer text(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int[] cells(Pyramid pyramid) {
+        return PackedPyramid.of(pyramid).getCells();
+    }
+
+    @Test
+    @DisplayName("Should parse the toString format back")
+    void shouldParseToStringFormat() throws IOException {
+        Pyramid original = new Pyramid(PyramidTestData.NEGATIVE_VALUES);
+
+        Pyramid parsed = parser.parse(text(original.toString()));
+
+        assertInstanceOf(PackedPyramid.class, parsed);
+        assertArrayEquals(cells(original), cells(parsed));
+    }
+
+    @Test
+    @DisplayName("Should parse plain rows with signs, CRLF and blank lines")
+    void shouldParsePlainRows() throws IOException {
+        Pyramid parsed = parser.parse(text("\r\n59 207 +98 95\r\n\t87 1 70\r\n\r\n36 41\r\n23"));
+
+        assertArrayEquals(cells(new Pyramid(PyramidTestData.DEMO_DATA)), cells(parsed));
+    }
+
+    @Test
+    @DisplayName("Should fill a jagged array-backed pyramid")
+    void shouldFillJaggedPyramid() throws IOException {
+        Pyramid parsed = new PyramidTextParser(PyramidTextParser.Layout.JAGGED)
+                .parse(text("[-2147483648] [2147483647]\n    [00000]\n"));
+
+        assertTrue(parsed.isArrayBacked());
+        assertArrayEquals(new int[][]{{Integer.MIN_VALUE, Integer.MAX_VALUE}, {0}}, parsed.getData());
+    }
+
+    @Test
+    @DisplayName("Should return an empty pyramid for blank input")
+    void shouldParseBlankInput() throws IOException {
+        assertEquals(0, parser.parse(text(" \n\n")).getRows());
+    }
+
+    @Test
+    @DisplayName("Should read files in chunks, splitting cells anywhere")
+    void shouldReadFilesInChunks() throws IOException {
+        Pyramid original = new ProceduralPyramid(700, 1_000_000, 25321L);
+        Path file = tempDir.resolve("pyramid.txt");
+        Files.writeString(file, original.toString(), StandardCharsets.US_ASCII);
+        assertTrue(Files.size(file) > PyramidTextParser.BUFFER_SIZE);
+
+        assertArrayEquals(cells(original), cells(parser.read(file)));
+        try (var in = Files.newInputStream(file)) {
+            assertArrayEquals(cells(original), cells(parser.read(Channels.newChannel(in))));
+        }
+    }
+
+    @Test
+    @DisplayName("Should parse direct buffers without moving their position")
+    void shouldParseDirectBuffers() throws IOException {
+        byte[] bytes = "1 2\n3\n".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+        assertArrayEquals(new int[]{1, 2, 3}, cells(parser.parse(direct)));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    @DisplayName("Should reject a first row too wide for the input before allocating")
+    void shouldRejectFirstRowTooWideForInput() throws IOException {
+        // 65535 cells in 131070 bytes, the other rows would need about 2^31 cells
+        String wide = "1 ".repeat(PackedPyramid.MAX_ROWS - 1) + "1\n";
+
+        PyramidFormatException e = assertThrows(PyramidFormatException.class, () -> parser.parse(text(wide + "2 ")));
+        assertEquals(1, e.getRow());
+        assertEquals(0, e.getColumn());
+        assertEquals(wide.length() - 1, e.getOffset());
+
+        Path file = tempDir.resolve("wide.txt");
+        Files.writeString(file, wide);
+        assertThrows(PyramidFormatException.class, () -> parser.read(file));
+
+        // Just long enough still parses
+        assertArrayEquals(new int[]{1, 2, 3}, cells(parser.parse(text("1 2\n3"))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Should report row and column of malformed input")
+    @CsvSource(delimiter = '|', value = {
+            "[001] [002]\\n    [003] [004]\\n|1|1",
+            "[001] [002]\\n|1|0",
+            "[001] [002]\\n    [00x]\\n|1|0",
+            "[001] [002]\\n    [3\\n|1|0",
+            "[001] 2\\n|0|1",
+            "1 [2]\\n|0|1",
+            "1 2\\n3\\n4\\n|2|0",
+            "1 2 3\\n4 5\\n6 7\\n|2|1",
+            "1 - 3\\n|0|1",
+            "1 2147483648\\n|0|1",
+            "[1] [--2]\\n|0|1",
+            "[] [1]\\n|0|0"
+    })
+    void shouldReportMalformedInput(String input, int row, int column) {
+        PyramidFormatException e = assertThrows(PyramidFormatException.class,
+                () -> parser.parse(text(input.replace("\\n", "\n"))));
+
+        assertEquals(row, e.getRow(), e.getMessage());
+        assertEquals(column, e.getColumn(), e.getMessage());
+        assertTrue(e.getMessage().startsWith("Row " + row + ", column " + column), e.getMessage());
+    }
+}
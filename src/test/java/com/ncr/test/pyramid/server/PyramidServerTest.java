@@ -0,0 +1,246 @@
+package com.ncr.test.pyramid.server;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.io.BinaryPyramidWriter;
+import com.ncr.test.pyramid.solver.PyramidTestData;
+import com.ncr.test.pyramid.solver.impl.SolverContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pyramid Server Tests")
+class PyramidServerTest {
+
+    private static final String DEMO_TEXT = "59 207 98 95\n87 1 70\n36 41\n23\n";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private PyramidServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should solve a text pyramid")
+    void shouldSolveTextPyramid() throws Exception {
+        start(new PyramidServer(0, 1, 16, 1 << 16));
+
+        HttpResponse<String> response = post("/solve", DEMO_TEXT.getBytes());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"rows\":4,\"total\":353}", response.body());
+    }
+
+    @Test
+    @DisplayName("Should solve a binary pyramid and return the path on request")
+    void shouldSolveBinaryPyramidWithPath() throws Exception {
+        start(new PyramidServer(0, 1, 16, 1 << 16));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        new BinaryPyramidWriter().write(new Pyramid(PyramidTestData.DEMO_DATA), Channels.newChannel(body), Short.BYTES);
+
+        HttpResponse<String> response = post("/solve?path=true", body.toByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"rows\":4,\"total\":353,\"path\":\""), response.body());
+        assertTrue(response.body().endsWith(",\"moves\":\"LLR\"}"), response.body());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed bodies, oversized bodies and other methods")
+    void shouldRejectBadRequests() throws Exception {
+        start(new PyramidServer(0, 1, 16, 64));
+
+        HttpResponse<String> malformed = post("/solve", "1 2\n3 x\n".getBytes());
+        assertEquals(400, malformed.statusCode());
+        assertTrue(malformed.body().contains("Row 1, column 1"), malformed.body());
+
+        assertEquals(413, post("/solve", new byte[65]).statusCode());
+
+        // A first row promising far more cells than the body holds is refused before allocating
+        HttpResponse<String> wide = post("/solve", "1 2 3 4 5 6 7 8 9 10\n".getBytes());
+        assertEquals(400, wide.statusCode());
+        assertTrue(wide.body().contains("Row 1, column 0"), wide.body());
+
+        HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri("/solve")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+    }
+
+    @Test
+    @DisplayName("Should batch queued requests and refuse requests beyond the queue capacity")
+    void shouldBatchAndApplyBackpressure() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SolveBatcher batcher = new SolveBatcher(1, 3, PyramidServer.MAX_BATCH_SIZE, PyramidServer.MAX_BATCH_CELLS) {
+            @Override
+            Result solve(Pyramid pyramid, boolean withPath, SolverContext context) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.solve(pyramid, withPath, context);
+            }
+        };
+        start(new PyramidServer(0, batcher, 1 << 16));
+
+        // The first request occupies the only worker, the next three fill the queue
+        List<CompletableFuture<HttpResponse<String>>> pending = new ArrayList<>();
+        pending.add(postAsync());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            pending.add(postAsync());
+        }
+        while (batcher.getStats().queued() < 3) {
+            Thread.sleep(5);
+        }
+
+        HttpResponse<String> refused = post("/solve", DEMO_TEXT.getBytes());
+        assertEquals(503, refused.statusCode());
+        assertEquals("1", refused.headers().firstValue("Retry-After").orElse(null));
+
+        release.countDown();
+        for (CompletableFuture<HttpResponse<String>> response : pending) {
+            assertEquals(200, response.get(5, TimeUnit.SECONDS).statusCode());
+        }
+        SolveBatcher.Stats stats = batcher.getStats();
+        assertEquals(4, stats.accepted());
+        assertEquals(1, stats.rejected());
+        assertEquals(2, stats.batches(), "the three queued requests should be solved as one batch");
+
+        HttpResponse<String> statsResponse = client.send(HttpRequest.newBuilder(uri("/stats")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(statsResponse.body().contains("\"solved\":4"), statsResponse.body());
+    }
+
+    @Test
+    @DisplayName("Should solve the jobs of one batch in parallel on the workers")
+    void shouldSolveBatchInParallel() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        CyclicBarrier bothSolving = new CyclicBarrier(2);
+        Pyramid blocker = new Pyramid(PyramidTestData.SAMPLE_DATA);
+        try (SolveBatcher batcher = new SolveBatcher(2, 16, PyramidServer.MAX_BATCH_SIZE, PyramidServer.MAX_BATCH_CELLS) {
+            @Override
+            Result solve(Pyramid pyramid, boolean withPath, SolverContext context) {
+                try {
+                    if (pyramid == blocker) {
+                        gate.await();
+                    } else {
+                        // Only passes when the other job of the batch runs at the same time
+                        bothSolving.await(5, TimeUnit.SECONDS);
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.solve(pyramid, withPath, context);
+            }
+        }) {
+            CompletableFuture<SolveBatcher.Result> first = batcher.submit(blocker, false);
+            CompletableFuture<SolveBatcher.Result> second = batcher.submit(new Pyramid(PyramidTestData.DEMO_DATA), false);
+            CompletableFuture<SolveBatcher.Result> third = batcher.submit(new Pyramid(PyramidTestData.DEMO_DATA), true);
+            while (batcher.getStats().queued() > 2 || batcher.getStats().batches() == 0) {
+                Thread.sleep(5);
+            }
+            gate.countDown();
+
+            assertEquals(PyramidTestData.SAMPLE_EXPECTED, first.get(5, TimeUnit.SECONDS).total());
+            assertEquals(PyramidTestData.DEMO_EXPECTED, second.get(5, TimeUnit.SECONDS).total());
+            assertEquals("LLR", third.get(5, TimeUnit.SECONDS).solution().getMovesString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the other workers solving while one job of a batch is slow")
+    void shouldNotWaitForSlowestJobOfBatch() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        Pyramid slow = new Pyramid(PyramidTestData.SAMPLE_DATA);
+        try (SolveBatcher batcher = new SolveBatcher(2, 16, PyramidServer.MAX_BATCH_SIZE, PyramidServer.MAX_BATCH_CELLS) {
+            @Override
+            Result solve(Pyramid pyramid, boolean withPath, SolverContext context) {
+                if (pyramid == slow) {
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.solve(pyramid, withPath, context);
+            }
+        }) {
+            CompletableFuture<SolveBatcher.Result> first = batcher.submit(slow, false);
+            List<CompletableFuture<SolveBatcher.Result>> others = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                others.add(batcher.submit(new Pyramid(PyramidTestData.DEMO_DATA), false));
+            }
+
+            // All of them complete on the second worker while the first one is held
+            for (CompletableFuture<SolveBatcher.Result> other : others) {
+                assertEquals(PyramidTestData.DEMO_EXPECTED, other.get(5, TimeUnit.SECONDS).total());
+            }
+            assertFalse(first.isDone());
+            gate.countDown();
+            assertEquals(PyramidTestData.SAMPLE_EXPECTED, first.get(5, TimeUnit.SECONDS).total());
+        }
+    }
+
+    @Test
+    @DisplayName("Should escape control characters in error messages")
+    void shouldEscapeErrorMessages() {
+        assertEquals("{\"error\":\"a\\\"b\\\\c\\nd\\re\\tf\\u0001\"}",
+                PyramidServer.error("a\"b\\c\nd\re\tf\u0001"));
+    }
+
+    @Test
+    @DisplayName("Should report throughput and latency from the load generator")
+    void shouldRunLoadGenerator() throws Exception {
+        start(new PyramidServer(0, 1, 64, 1 << 20));
+
+        LoadGenerator.Report report = new LoadGenerator(uri("/solve"), 4, 50, true).run(200);
+
+        assertEquals(200, report.ok());
+        assertEquals(0, report.failed());
+        assertTrue(report.p50Nanos() > 0 && report.p50Nanos() <= report.p99Nanos());
+        assertTrue(report.p99Nanos() <= report.maxNanos());
+        assertTrue(report.requestsPerSecond() > 0);
+    }
+
+    private void start(PyramidServer server) {
+        this.server = server;
+        server.start();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private HttpResponse<String> post(String path, byte[] body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> postAsync() {
+        return client.sendAsync(HttpRequest.newBuilder(uri("/solve"))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(DEMO_TEXT.getBytes())).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.ProceduralPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.impl.AdaptivePyramidSolver;
+import com.ncr.test.pyramid.solver.impl.AdaptivePyramidSolver.Strategy;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptivePyramidSolver Tests")
+class AdaptivePyramidSolverTest {
+
+    private static AdaptivePyramidSolver calibrated;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void calibrate() {
+        calibrated = AdaptivePyramidSolver.calibrate(Duration.ofMillis(1));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should solve known pyramids after calibration")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldSolveKnownPyramids(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, calibrated.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should match YourSolver in every size class")
+    @ValueSource(ints = {0, 15, 16, 63, 64, 300, 1500, 5000})
+    void shouldMatchYourSolver(int rows) {
+        Pyramid pyramid = new ProceduralPyramid(rows, 1000, 25321L);
+
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), calibrated.pyramidMaximumTotal(pyramid));
+    }
+
+    @Test
+    @DisplayName("Should only try the naive solver on small pyramids")
+    void shouldKeepNaiveForSmallPyramids() {
+        for (int rows : new int[]{16, 100, 1000, 10000}) {
+            assertNotEquals(Strategy.NAIVE, calibrated.strategyFor(rows));
+        }
+    }
+
+    @Test
+    @DisplayName("Should dispatch by size class")
+    void shouldDispatchBySizeClass() {
+        AdaptivePyramidSolver solver = new AdaptivePyramidSolver(
+                Strategy.NAIVE, Strategy.YOUR, Strategy.YOUR, Strategy.PARALLEL, Strategy.PARALLEL, Strategy.PARALLEL);
+
+        assertEquals(Strategy.NAIVE, solver.strategyFor(15));
+        assertEquals(Strategy.YOUR, solver.strategyFor(16));
+        assertEquals(Strategy.YOUR, solver.strategyFor(255));
+        assertEquals(Strategy.PARALLEL, solver.strategyFor(256));
+        assertEquals(Strategy.PARALLEL, solver.strategyFor(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePyramidSolver(Strategy.YOUR));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePyramidSolver(
+                Strategy.YOUR, Strategy.NAIVE, Strategy.YOUR, Strategy.YOUR, Strategy.YOUR, Strategy.YOUR));
+    }
+
+    @Test
+    @DisplayName("Should return 0 for an empty pyramid whatever the strategy")
+    void shouldSolveEmptyPyramid() {
+        AdaptivePyramidSolver solver = new AdaptivePyramidSolver(
+                Strategy.NAIVE, Strategy.YOUR, Strategy.YOUR, Strategy.YOUR, Strategy.YOUR, Strategy.YOUR);
+
+        assertEquals(0L, solver.pyramidMaximumTotal(new Pyramid(new int[0][])));
+    }
+
+    @Test
+    @DisplayName("Should round trip a profile through a properties file")
+    void shouldRoundTripProfile() throws IOException {
+        Path profile = tempDir.resolve("solver.properties");
+        AdaptivePyramidSolver solver = new AdaptivePyramidSolver(
+                Strategy.NAIVE, Strategy.YOUR, Strategy.PARALLEL, Strategy.YOUR, Strategy.PARALLEL, Strategy.YOUR);
+
+        solver.save(profile);
+        AdaptivePyramidSolver loaded = AdaptivePyramidSolver.load(profile);
+
+        assertEquals(solver.toString(), loaded.toString());
+        assertTrue(Files.readString(profile).contains("rows.max=YOUR"));
+    }
+
+    @Test
+    @DisplayName("Should reject a profile naming an unknown strategy")
+    void shouldRejectUnknownStrategy() throws IOException {
+        Path profile = tempDir.resolve("bad.properties");
+        Files.writeString(profile, "rows.16=QUANTUM\n");
+
+        assertThrows(IOException.class, () -> AdaptivePyramidSolver.load(profile));
+    }
+
+    @Test
+    @DisplayName("Should reject a profile using the naive solver for large pyramids")
+    void shouldRejectNaiveForLargePyramids() throws IOException {
+        Path profile = tempDir.resolve("naive.properties");
+        Files.writeString(profile, "rows.16=NAIVE\nrows.64=YOUR\nrows.256=YOUR\nrows.1024=YOUR\n"
+                + "rows.4096=YOUR\nrows.max=NAIVE\n");
+
+        IOException e = assertThrows(IOException.class, () -> AdaptivePyramidSolver.load(profile));
+        assertTrue(e.getMessage().contains("rows.max"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should calibrate once and reuse the saved profile")
+    void shouldCalibrateOnce() throws IOException {
+        Path profile = tempDir.resolve("calibration.properties");
+
+        AdaptivePyramidSolver first = AdaptivePyramidSolver.loadOrCalibrate(profile);
+        assertTrue(Files.exists(profile));
+        long modified = Files.getLastModifiedTime(profile).toMillis();
+        AdaptivePyramidSolver second = AdaptivePyramidSolver.loadOrCalibrate(profile);
+
+        assertEquals(first.toString(), second.toString());
+        assertEquals(modified, Files.getLastModifiedTime(profile).toMillis());
+    }
+}
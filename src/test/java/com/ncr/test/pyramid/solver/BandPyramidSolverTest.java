@@ -0,0 +1,76 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.ParallelPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.BandPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BandPyramidSolver Tests")
+class BandPyramidSolverTest {
+
+    @ParameterizedTest
+    @DisplayName("Should produce correct results for known test cases")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldProduceCorrectResults(int[][] pyramidData, long expected, String description) {
+        // One-row bands, so that even the smallest pyramids are split
+        try (BandPyramidSolver solver = new BandPyramidSolver(2, 1)) {
+            assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+            assertEquals(expected, solver.pyramidMaximumTotal(PackedPyramid.of(pyramidData)), description);
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should match YourSolver for any band height")
+    @CsvSource({
+            "1, 50", "2, 51", "3, 100", "5, 100",
+            // Above the direct height, bands are built from products
+            "33, 200", "64, 300", "100, 301"
+    })
+    void shouldMatchYourSolver(int bandRows, int rows) {
+        try (BandPyramidSolver solver = new BandPyramidSolver(3, bandRows)) {
+            for (int seed = 0; seed < 4; seed++) {
+                // Small ranges give many ties between paths
+                PackedPyramid pyramid = new ParallelPyramidGenerator(rows, seed % 2 == 0 ? 3 : 100_000, seed)
+                        .generatePyramid();
+                if (seed == 3) {
+                    int[] cells = pyramid.getCells();
+                    for (int i = 0; i < cells.length; i += 3) {
+                        cells[i] = -cells[i];
+                    }
+                }
+                assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), solver.pyramidMaximumTotal(pyramid),
+                        "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive band height")
+    void shouldRejectInvalidBandRows() {
+        assertThrows(IllegalArgumentException.class, () -> new BandPyramidSolver(2, 0));
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Should solve a tall pyramid on the common pool")
+    void shouldSolveTallPyramidWithDefaults() {
+        PackedPyramid pyramid = new ParallelPyramidGenerator(3000, 1000, PyramidTestData.RANDOM_TEST_SEED)
+                .generatePyramid();
+        BandPyramidSolver defaults = new BandPyramidSolver();
+
+        long expected = new YourSolver().pyramidMaximumTotal(pyramid);
+        assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertEquals(expected, defaults.pyramidMaximumTotal(pyramid)));
+    }
+}
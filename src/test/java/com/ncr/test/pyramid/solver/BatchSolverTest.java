@@ -0,0 +1,163 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.BatchSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchSolver Tests")
+class BatchSolverTest {
+
+    private BatchSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new BatchSolver(4, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver.close();
+    }
+
+    @Test
+    @DisplayName("Should return totals in source order")
+    void shouldReturnTotalsInOrder() throws InterruptedException {
+        List<Pyramid> pyramids = randomPyramids(50);
+        PyramidSolver reference = new YourSolver();
+
+        BatchSolver.BatchResult result = solver.solveAll(pyramids);
+
+        long[] expected = pyramids.stream().mapToLong(reference::pyramidMaximumTotal).toArray();
+        assertArrayEquals(expected, result.totals());
+        assertEquals(50, result.stats().pyramids());
+        assertTrue(result.stats().cells() > 0);
+    }
+
+    @Test
+    @DisplayName("Should stream results with their source index")
+    void shouldStreamResultsWithIndex() throws InterruptedException {
+        List<Pyramid> pyramids = randomPyramids(20);
+        Map<Long, Long> totals = new ConcurrentHashMap<>();
+
+        try (BatchSolver virtual = BatchSolver.withVirtualThreads(2)) {
+            virtual.solveEach(pyramids.iterator(), (index, pyramid, total) -> totals.put(index, total));
+        }
+
+        assertEquals(20, totals.size());
+        for (int i = 0; i < pyramids.size(); i++) {
+            assertEquals(new YourSolver().pyramidMaximumTotal(pyramids.get(i)), (long) totals.get((long) i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not solve more pyramids at once than allowed")
+    void shouldLimitInFlightPyramids() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Pyramid> pyramids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            pyramids.add(new SlowPyramid(active, peak));
+        }
+
+        long[] totals = solver.solveAll(pyramids).totals();
+
+        assertTrue(peak.get() <= solver.getMaxInFlight(), "Peak concurrency " + peak.get());
+        assertArrayEquals(new long[12], totals);
+    }
+
+    @Test
+    @DisplayName("Should let concurrent callers each wait for their own pyramids")
+    void shouldServeConcurrentCallers() {
+        List<Pyramid> pyramids = randomPyramids(40);
+        long[] expected = pyramids.stream().mapToLong(new YourSolver()::pyramidMaximumTotal).toArray();
+
+        ExecutorService threads = Executors.newFixedThreadPool(3);
+        try (BatchSolver shared = new BatchSolver(4, 4)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                List<CompletableFuture<long[]>> callers = new ArrayList<>();
+                for (int caller = 0; caller < 3; caller++) {
+                    callers.add(CompletableFuture.supplyAsync(() -> {
+                        long[] totals = new long[pyramids.size()];
+                        try {
+                            BatchSolver.BatchStats stats = shared.solveEach(pyramids.iterator(),
+                                    (index, pyramid, total) -> totals[(int) index] = total);
+                            assertEquals(pyramids.size(), stats.pyramids());
+                        } catch (InterruptedException e) {
+                            throw new CompletionException(e);
+                        }
+                        return totals;
+                    }, threads));
+                }
+                for (CompletableFuture<long[]> caller : callers) {
+                    assertArrayEquals(expected, caller.join());
+                }
+            });
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed solve")
+    void shouldRethrowFailure() {
+        List<Pyramid> pyramids = List.of(new Pyramid(PyramidTestData.DEMO_DATA), new Pyramid(new int[][]{{1, 2}, {}}));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> solver.solveAll(pyramids));
+    }
+
+    private static List<Pyramid> randomPyramids(int count) {
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new RandomPyramidGenerator(1 + i * 3, 1000).generatePyramid())
+                .toList();
+    }
+
+    /**
+     * Two-row all-zero pyramid recording how many solves read it concurrently.
+     */
+    private static final class SlowPyramid extends Pyramid {
+        private final AtomicInteger active;
+        private final AtomicInteger peak;
+
+        SlowPyramid(AtomicInteger active, AtomicInteger peak) {
+            super(2);
+            this.active = active;
+            this.peak = peak;
+        }
+
+        @Override
+        public int get(int row, int col) {
+            return 0;
+        }
+
+        @Override
+        public int[] copyRow(int row, int[] target) {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            return super.copyRow(row, target);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.ProceduralPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.impl.CachingPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachingPyramidSolver Tests")
+class CachingPyramidSolverTest {
+
+    private final AtomicInteger solves = new AtomicInteger();
+    private final PyramidSolver counting = pyramid -> {
+        solves.incrementAndGet();
+        return new YourSolver().pyramidMaximumTotal(pyramid);
+    };
+
+    @Test
+    @DisplayName("Should solve a repeated pyramid once")
+    void shouldSolveRepeatedPyramidOnce() {
+        CachingPyramidSolver solver = new CachingPyramidSolver(counting, 1_000_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(PyramidTestData.DEMO_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA)));
+        }
+
+        assertEquals(1, solves.get());
+        CachingPyramidSolver.Stats stats = solver.getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+        assertEquals(10, stats.cachedCells());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should hit for equal contents in any layout")
+    void shouldHitAcrossLayouts() {
+        CachingPyramidSolver solver = new CachingPyramidSolver(counting, 1_000_000);
+        ProceduralPyramid procedural = new ProceduralPyramid(300, 1000, 25321L);
+        long expected = new YourSolver().pyramidMaximumTotal(procedural);
+
+        assertEquals(expected, solver.pyramidMaximumTotal(procedural));
+        assertEquals(expected, solver.pyramidMaximumTotal(PackedPyramid.of(procedural)));
+        assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(procedural.getData())));
+
+        assertEquals(1, solves.get());
+    }
+
+    @Test
+    @DisplayName("Should not serve a result after the input changed")
+    void shouldNotServeStaleResults() {
+        CachingPyramidSolver solver = new CachingPyramidSolver(counting, 1_000_000);
+        int[][] data = {{5, 9, 8, 4}, {6, 4, 5}, {6, 7}, {3}};
+
+        assertEquals(PyramidTestData.SAMPLE_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(data)));
+        data[0][1] = 100;
+
+        assertEquals(115, solver.pyramidMaximumTotal(new Pyramid(data)));
+        assertEquals(2, solves.get());
+    }
+
+    @Test
+    @DisplayName("Should verify contents when fingerprints collide")
+    void shouldVerifyOnCollision() {
+        CachingPyramidSolver solver = new CachingPyramidSolver(counting, 1_000_000) {
+            @Override
+            protected Fingerprint fingerprint(Pyramid pyramid) {
+                return new Fingerprint(0, 0);
+            }
+        };
+
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA)));
+        assertEquals(PyramidTestData.SAMPLE_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.SAMPLE_DATA)));
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA)));
+
+        CachingPyramidSolver.Stats stats = solver.getStats();
+        assertEquals(1, stats.collisions());
+        assertEquals(1, stats.hits());
+        assertEquals(2, solves.get());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entries by cell count")
+    void shouldEvictBySize() {
+        // One segment holding 25 cells: two 4-row pyramids (10 cells each), not three
+        CachingPyramidSolver solver = new CachingPyramidSolver(counting, 25, 1);
+        Pyramid first = new ProceduralPyramid(4, 100, 1L);
+        Pyramid second = new ProceduralPyramid(4, 100, 2L);
+        Pyramid third = new ProceduralPyramid(4, 100, 3L);
+
+        solver.pyramidMaximumTotal(first);
+        solver.pyramidMaximumTotal(second);
+        solver.pyramidMaximumTotal(first);
+        solver.pyramidMaximumTotal(third);
+        assertEquals(3, solves.get());
+        assertEquals(1, solver.getStats().evictions());
+
+        solver.pyramidMaximumTotal(first);
+        assertEquals(3, solves.get(), "first was used recently and stays");
+        solver.pyramidMaximumTotal(second);
+        assertEquals(4, solves.get(), "second was evicted");
+    }
+
+    @Test
+    @DisplayName("Should not cache pyramids larger than a segment")
+    void shouldNotCacheOversizedPyramids() {
+        CachingPyramidSolver solver = new CachingPyramidSolver(counting, 14, 1);
+        Pyramid pyramid = new ProceduralPyramid(5, 100, 1L);
+
+        solver.pyramidMaximumTotal(pyramid);
+        solver.pyramidMaximumTotal(pyramid);
+
+        assertEquals(2, solves.get());
+        assertEquals(0, solver.getStats().entries());
+    }
+
+    @Test
+    @DisplayName("Should give correct totals under concurrent use")
+    void shouldBeSafeForConcurrentUse() throws Exception {
+        CachingPyramidSolver solver = new CachingPyramidSolver(counting, 1_000_000, 4);
+        List<Pyramid> pyramids = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+        for (int seed = 0; seed < 8; seed++) {
+            Pyramid pyramid = new ProceduralPyramid(50 + seed, 1000, seed);
+            pyramids.add(pyramid);
+            expected.add(new YourSolver().pyramidMaximumTotal(pyramid));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        int index = i % pyramids.size();
+                        assertEquals((long) expected.get(index), solver.pyramidMaximumTotal(pyramids.get(index)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        CachingPyramidSolver.Stats stats = solver.getStats();
+        assertEquals(800, stats.hits() + stats.misses());
+        assertEquals(8, stats.entries());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingPyramidSolver(counting, -1));
+        assertThrows(IllegalArgumentException.class, () -> new CachingPyramidSolver(counting, 100, 3));
+    }
+}
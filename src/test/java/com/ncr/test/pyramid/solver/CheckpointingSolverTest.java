@@ -0,0 +1,135 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.ParallelPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.CheckpointingSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CheckpointingSolver Tests")
+class CheckpointingSolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @DisplayName("Should produce correct results for known test cases")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldProduceCorrectResults(int[][] pyramidData, long expected, String description) {
+        Path file = tempDir.resolve("known.ckpt");
+        CheckpointingSolver solver = new CheckpointingSolver(file, Duration.ZERO);
+
+        assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+        assertFalse(Files.exists(file), "checkpoint left after completion");
+    }
+
+    @Test
+    @DisplayName("Should resume after a crash from the last checkpoint")
+    void shouldResumeAfterCrash() throws IOException {
+        PackedPyramid pyramid = new ParallelPyramidGenerator(500, 100_000, PyramidTestData.RANDOM_TEST_SEED)
+                .generatePyramid();
+        Path file = tempDir.resolve("crash.ckpt");
+        CheckpointingSolver solver = new CheckpointingSolver(file, Duration.ZERO);
+
+        assertThrows(IllegalStateException.class, () -> solver.solve(new CrashingPyramid(pyramid, 200)));
+
+        CheckpointingSolver.Checkpoint checkpoint = CheckpointingSolver.readCheckpoint(file);
+        assertEquals(500, checkpoint.rows());
+        assertEquals(201, checkpoint.row());
+        assertEquals(299, checkpoint.frontier().length);
+
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), solver.resume(pyramid));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should drop the previous run's checkpoint when a new solve starts")
+    void shouldDropOldCheckpointOnSolve() throws IOException {
+        PackedPyramid pyramid = new ParallelPyramidGenerator(100, 1000, 7).generatePyramid();
+        Path file = tempDir.resolve("old.ckpt");
+        assertThrows(IllegalStateException.class,
+                () -> new CheckpointingSolver(file, Duration.ZERO).solve(new CrashingPyramid(pyramid, 50)));
+        assertTrue(Files.exists(file));
+
+        // A crash before the new run's first checkpoint must not leave the old one to resume
+        CheckpointingSolver solver = new CheckpointingSolver(file, Duration.ofHours(1));
+        PackedPyramid other = new ParallelPyramidGenerator(100, 1000, 8).generatePyramid();
+        assertThrows(IllegalStateException.class, () -> solver.solve(new CrashingPyramid(other, 90)));
+
+        assertFalse(Files.exists(file));
+        assertEquals(new YourSolver().pyramidMaximumTotal(other), solver.resume(other));
+    }
+
+    @Test
+    @DisplayName("Should solve from the start when there is no checkpoint")
+    void shouldResumeWithoutCheckpoint() throws IOException {
+        CheckpointingSolver solver = new CheckpointingSolver(tempDir.resolve("none.ckpt"));
+
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solver.resume(new Pyramid(PyramidTestData.DEMO_DATA)));
+    }
+
+    @Test
+    @DisplayName("Should reject damaged or mismatching checkpoints")
+    void shouldRejectBadCheckpoints() throws IOException {
+        PackedPyramid pyramid = new ParallelPyramidGenerator(100, 1000, 7).generatePyramid();
+        Path file = tempDir.resolve("bad.ckpt");
+        CheckpointingSolver solver = new CheckpointingSolver(file, Duration.ZERO);
+        assertThrows(IllegalStateException.class, () -> solver.solve(new CrashingPyramid(pyramid, 50)));
+
+        assertThrows(IOException.class,
+                () -> solver.resume(new ParallelPyramidGenerator(99, 1000, 7).generatePyramid()));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 1;
+        Files.write(file, bytes);
+        IOException error = assertThrows(IOException.class, () -> solver.resume(pyramid));
+        assertTrue(error.getMessage().contains("CRC"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a negative interval")
+    void shouldRejectNegativeInterval() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CheckpointingSolver(tempDir.resolve("x.ckpt"), Duration.ofSeconds(-1)));
+    }
+
+    /**
+     * Fails when the solver reads a given row, as a crash in the middle of a solve would.
+     */
+    private static final class CrashingPyramid extends Pyramid {
+
+        private final Pyramid pyramid;
+        private final int crashRow;
+
+        CrashingPyramid(Pyramid pyramid, int crashRow) {
+            super(pyramid.getRows());
+            this.pyramid = pyramid;
+            this.crashRow = crashRow;
+        }
+
+        @Override
+        public int get(int row, int col) {
+            return pyramid.get(row, col);
+        }
+
+        @Override
+        public int[] copyRow(int row, int[] target) {
+            if (row == crashRow) {
+                throw new IllegalStateException("Crash at row " + row);
+            }
+            return pyramid.copyRow(row, target);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.IncrementalPyramid;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IncrementalPyramid Tests")
+class IncrementalPyramidTest {
+
+    private final PyramidSolver reference = new YourSolver();
+
+    @ParameterizedTest
+    @DisplayName("Should solve known test cases on construction")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldSolveOnConstruction(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, new IncrementalPyramid(new Pyramid(pyramidData)).getMaximumTotal(), description);
+    }
+
+    @Test
+    @DisplayName("Should follow single-cell updates of the demo data")
+    void shouldFollowDemoUpdates() {
+        IncrementalPyramid pyramid = new IncrementalPyramid(new Pyramid(PyramidTestData.DEMO_DATA));
+
+        // Without the 87 the best path becomes 23 → 41 → 1 → 207
+        pyramid.set(1, 0, 0);
+        assertEquals(23 + 41 + 1 + 207, pyramid.getMaximumTotal());
+
+        pyramid.set(0, 3, 1000);
+        assertEquals(23 + 41 + 70 + 1000, pyramid.getMaximumTotal());
+        assertEquals(1000, pyramid.get(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should match a full solve after many random updates")
+    void shouldMatchFullSolveAfterUpdates() {
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        IncrementalPyramid pyramid = new IncrementalPyramid(new RandomPyramidGenerator(60, 1000).generatePyramid());
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 500; i++) {
+            int row = random.nextInt(pyramid.getRows());
+            int col = random.nextInt(pyramid.getRowLength(row));
+            pyramid.set(row, col, random.nextInt(-1000, 1000));
+
+            assertEquals(reference.pyramidMaximumTotal(pyramid), pyramid.getMaximumTotal(), "after update " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop recomputing where values do not change")
+    void shouldStopEarly() {
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        IncrementalPyramid pyramid = new IncrementalPyramid(new RandomPyramidGenerator(500, 1000).generatePyramid());
+        long initial = pyramid.getRecomputedCells();
+
+        // Same value again: only the cell itself is looked at
+        pyramid.set(250, 10, pyramid.get(250, 10));
+        assertEquals(initial + 1, pyramid.getRecomputedCells());
+
+        // A lowered value in the top row never travels further
+        pyramid.set(0, 100, pyramid.get(0, 100) - 1);
+        assertEquals(initial + 2, pyramid.getRecomputedCells());
+        assertEquals(reference.pyramidMaximumTotal(pyramid), pyramid.getMaximumTotal());
+    }
+
+    @Test
+    @DisplayName("Should reject cells outside the pyramid")
+    void shouldRejectCellsOutside() {
+        IncrementalPyramid pyramid = new IncrementalPyramid(new Pyramid(PyramidTestData.SAMPLE_DATA));
+        assertThrows(IndexOutOfBoundsException.class, () -> pyramid.set(3, 1, 5));
+    }
+}
@@ -0,0 +1,183 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.ProceduralPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.impl.InstrumentedPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import com.ncr.test.pyramid.solver.metrics.MetricsRegistry;
+import com.ncr.test.pyramid.solver.metrics.SolverMetrics;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InstrumentedPyramidSolver Tests")
+class InstrumentedPyramidSolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should record solves and return the delegate's total")
+    void shouldRecordSolves() {
+        SolverMetrics metrics = new SolverMetrics("test");
+        InstrumentedPyramidSolver solver = new InstrumentedPyramidSolver(new YourSolver(), metrics, 0);
+
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA)));
+        assertEquals(PyramidTestData.SAMPLE_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.SAMPLE_DATA)));
+
+        assertEquals(2, metrics.getSolveCount());
+        assertEquals(8, metrics.getRowsProcessed());
+        assertEquals(20, metrics.getCellsProcessed());
+        assertEquals(2, java.util.Arrays.stream(metrics.getLatencyHistogram()).sum());
+        assertTrue(metrics.getTotalSolveNanos() > 0);
+        assertTrue(metrics.getAllocatedBytes() > 0, "YourSolver allocates its DP table");
+    }
+
+    @Test
+    @DisplayName("Should count failures and rethrow them")
+    void shouldCountFailures() {
+        SolverMetrics metrics = new SolverMetrics("failing");
+        InstrumentedPyramidSolver solver = new InstrumentedPyramidSolver(pyramid -> {
+            throw new IllegalStateException("boom");
+        }, metrics, 0);
+
+        assertThrows(IllegalStateException.class, () -> solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA)));
+
+        assertEquals(1, metrics.getFailureCount());
+        assertEquals(0, metrics.getSolveCount());
+    }
+
+    @Test
+    @DisplayName("Should not record while disabled")
+    void shouldNotRecordWhileDisabled() {
+        SolverMetrics metrics = new SolverMetrics("disabled");
+        InstrumentedPyramidSolver solver = new InstrumentedPyramidSolver(new YourSolver(), metrics, 0);
+        solver.setEnabled(false);
+
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA)));
+
+        assertEquals(0, metrics.getSolveCount());
+    }
+
+    @Test
+    @DisplayName("Should route array-backed pyramids through the sampled rows")
+    void shouldNotExposeBackingArrayWhenSampling() {
+        Pyramid pyramid = new Pyramid(PyramidTestData.DEMO_DATA);
+        InstrumentedPyramidSolver solver = new InstrumentedPyramidSolver(sampled -> {
+            assertFalse(sampled.isArrayBacked());
+            assertNotSame(PyramidTestData.DEMO_DATA, sampled.getData());
+            assertArrayEquals(new int[]{36, 41}, sampled.getData()[2]);
+            return new YourSolver().pyramidMaximumTotal(sampled);
+        }, new SolverMetrics("sampled"), 2);
+
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solver.pyramidMaximumTotal(pyramid));
+    }
+
+    @Test
+    @DisplayName("Should close the delegate without checked exceptions")
+    void shouldWrapCheckedCloseFailures() {
+        InstrumentedPyramidSolver solver = new InstrumentedPyramidSolver(new ClosingSolver(new IOException("disk")),
+                new SolverMetrics("closing"), 0);
+        InstrumentedPyramidSolver interrupted = new InstrumentedPyramidSolver(
+                new ClosingSolver(new InterruptedException()), new SolverMetrics("interrupted"), 0);
+
+        assertThrows(UncheckedIOException.class, solver::close);
+        assertThrows(IllegalStateException.class, interrupted::close);
+        assertTrue(Thread.interrupted(), "interrupt status restored");
+    }
+
+    @Test
+    @DisplayName("Should estimate latency percentiles from power-of-two buckets")
+    void shouldEstimatePercentiles() {
+        SolverMetrics metrics = new SolverMetrics("percentiles");
+        for (int i = 0; i < 99; i++) {
+            metrics.recordSolve(1000, 1, 1, 0);
+        }
+        metrics.recordSolve(1_000_000, 1, 1, 0);
+
+        assertEquals(1023, metrics.getLatencyP50Nanos());
+        assertEquals(1023, metrics.getLatencyP99Nanos());
+        assertEquals((1L << 20) - 1, metrics.getLatencyPercentileNanos(1.0));
+        assertEquals(1_000_000, metrics.getMaxSolveNanos());
+
+        metrics.reset();
+        assertEquals(0, metrics.getLatencyP99Nanos());
+        assertEquals(0, metrics.getSolveCount());
+    }
+
+    @Test
+    @DisplayName("Should expose registry metrics through JMX")
+    void shouldExposeMetricsThroughJmx() throws Exception {
+        String name = "jmx-test";
+        try {
+            InstrumentedPyramidSolver solver =
+                    new InstrumentedPyramidSolver(new YourSolver(), MetricsRegistry.metrics(name), 0);
+            solver.pyramidMaximumTotal(new Pyramid(PyramidTestData.DEMO_DATA));
+
+            Object count = ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(MetricsRegistry.objectName(name), "SolveCount");
+
+            assertEquals(1L, count);
+            assertSame(MetricsRegistry.metrics(name), solver.getMetrics());
+        } finally {
+            MetricsRegistry.remove(name);
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(MetricsRegistry.objectName(name)));
+    }
+
+    @Test
+    @DisplayName("Should emit JFR solve and row block events")
+    void shouldEmitJfrEvents() throws Exception {
+        Path file = tempDir.resolve("solve.jfr");
+        InstrumentedPyramidSolver solver =
+                new InstrumentedPyramidSolver(new YourSolver(), new SolverMetrics("jfr"), 10);
+        Pyramid pyramid = new ProceduralPyramid(100, 1000, 25321L);
+        long expected = new YourSolver().pyramidMaximumTotal(pyramid);
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.ncr.test.pyramid.Solve");
+            recording.enable("com.ncr.test.pyramid.RowBlock");
+            recording.start();
+            assertEquals(expected, solver.pyramidMaximumTotal(pyramid));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> solves = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.ncr.test.pyramid.Solve")).toList();
+        assertEquals(1, solves.size());
+        assertEquals(expected, solves.get(0).getLong("total"));
+        assertEquals("YourSolver", solves.get(0).getString("solver"));
+        // YourSolver reads rows 99 down to 0; blocks start at rows 90, 80, ..., 0
+        assertEquals(10, events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.ncr.test.pyramid.RowBlock")).count());
+    }
+
+    /**
+     * Delegate failing to close with the given exception.
+     */
+    private record ClosingSolver(Exception failure) implements PyramidSolver, AutoCloseable {
+
+        @Override
+        public long pyramidMaximumTotal(Pyramid pyramid) {
+            return 0;
+        }
+
+        @Override
+        public void close() throws Exception {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.ParallelPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParallelPyramidSolver Tests")
+class ParallelPyramidSolverTest {
+
+    private ParallelPyramidSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        // Tiny chunks so that even small pyramids are split across tasks
+        solver = new ParallelPyramidSolver(4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver.close();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should produce correct results for known test cases")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldProduceCorrectResults(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+        assertEquals(expected, solver.pyramidMaximumTotal(PackedPyramid.of(pyramidData)), description);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should match YourSolver on random pyramids")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 17, 100, 333})
+    void shouldMatchYourSolver(int size) {
+        RandomPyramidGenerator.setRandSeed(size);
+        Pyramid packed = new RandomPyramidGenerator(size, 10000).generatePyramid();
+        Pyramid jagged = new Pyramid(packed.getData());
+        long expected = new YourSolver().pyramidMaximumTotal(packed);
+
+        assertEquals(expected, solver.pyramidMaximumTotal(packed));
+        assertEquals(expected, solver.pyramidMaximumTotal(jagged));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive chunk size")
+    void shouldRejectInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPyramidSolver(2, 0));
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Should solve a very wide pyramid on the common pool")
+    void shouldSolveWidePyramidWithDefaults() {
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        Pyramid pyramid = new RandomPyramidGenerator(20_000, 1000).generatePyramid();
+        ParallelPyramidSolver defaults = new ParallelPyramidSolver();
+
+        long expected = new YourSolver().pyramidMaximumTotal(pyramid);
+        assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertEquals(expected, defaults.pyramidMaximumTotal(pyramid)));
+    }
+}
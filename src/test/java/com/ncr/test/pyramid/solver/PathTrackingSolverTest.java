@@ -0,0 +1,71 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.PathTrackingSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PathTrackingSolver Tests")
+class PathTrackingSolverTest {
+
+    private PyramidPathSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new PathTrackingSolver();
+    }
+
+    @Test
+    @DisplayName("Should report the maximal path of the demo data")
+    void shouldReportDemoPath() {
+        PyramidSolution solution = solver.solve(new Pyramid(PyramidTestData.DEMO_DATA));
+
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solution.getTotal());
+        assertEquals("LLR", solution.getMovesString());
+        assertEquals("[03,00],[02,00],[01,00],[00,01]", solution.toString());
+        assertArrayEquals(new int[][]{{3, 0}, {2, 0}, {1, 0}, {0, 1}}, solution.getPath());
+    }
+
+    @Test
+    @DisplayName("Should report a single cell path")
+    void shouldReportSingleCellPath() {
+        PyramidSolution solution = solver.solve(new Pyramid(PyramidTestData.SINGLE_ELEMENT));
+
+        assertEquals(PyramidTestData.SINGLE_ELEMENT_EXPECTED, solution.getTotal());
+        assertEquals("", solution.getMovesString());
+        assertEquals("[00,00]", solution.toString());
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should produce correct totals for known test cases")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldProduceCorrectTotals(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should return a path whose cells add up to the total")
+    @ValueSource(ints = {2, 3, 10, 64, 65, 200})
+    void shouldReturnPathMatchingTotal(int size) {
+        RandomPyramidGenerator.setRandSeed(size);
+        Pyramid pyramid = new RandomPyramidGenerator(size, 1000).generatePyramid();
+
+        PyramidSolution solution = solver.solve(pyramid);
+
+        long sum = 0;
+        for (int[] cell : solution.getPath()) {
+            sum += pyramid.get(cell[0], cell[1]);
+        }
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), solution.getTotal());
+        assertEquals(solution.getTotal(), sum, "Cells on the path should add up to the total");
+        assertEquals(size, solution.getLength());
+    }
+}
@@ -0,0 +1,129 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.ProceduralPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.solver.impl.PyramidPathIndex;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PyramidPathIndex Tests")
+class PyramidPathIndexTest {
+
+    private static final int BLOCKED = -1_000_000;
+
+    private final YourSolver solver = new YourSolver();
+
+    @ParameterizedTest
+    @DisplayName("Should report the maximum total of known pyramids")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldReportMaximumTotal(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, new PyramidPathIndex(new Pyramid(pyramidData)).getMaximumTotal(), description);
+    }
+
+    @Test
+    @DisplayName("Should answer the sample pyramid by hand")
+    void shouldAnswerSamplePyramid() {
+        // [5] [9] [8] [4]     to: [24] [24] [23] [19]
+        //   [6] [4] [5]            [15] [14] [15]
+        //     [6] [7]                 [9] [10]
+        //       [3]                     [3]
+        PyramidPathIndex index = new PyramidPathIndex(new Pyramid(PyramidTestData.SAMPLE_DATA));
+
+        assertEquals(23, index.bestTotalTo(0, 2));
+        assertEquals(10, index.bestTotalTo(2, 1));
+        // 7 -> 5 -> 8
+        assertEquals(20, index.bestTotalFrom(2, 1));
+        assertEquals(24, index.bestTotalFrom(3, 0));
+        // 3 -> 7 -> 5 -> 8
+        assertEquals(23, index.bestTotalThrough(1, 2));
+        assertEquals(23, index.bestTotalEndingIn(2, 3));
+        assertEquals(24, index.bestTotalEndingIn(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should match a solve of the sub-pyramid above each cell")
+    void shouldMatchSubPyramidSolves() {
+        Pyramid pyramid = PackedPyramid.of(new ProceduralPyramid(25, 1000, 25321L));
+        PyramidPathIndex index = new PyramidPathIndex(pyramid);
+
+        for (int row = 0; row < 25; row++) {
+            for (int col = 0; col < 25 - row; col++) {
+                // Cells reachable upward from (row, col) form a pyramid of row + 1 rows
+                int[][] sub = new int[row + 1][];
+                for (int r = 0; r <= row; r++) {
+                    sub[r] = new int[row - r + 1];
+                    for (int c = 0; c < sub[r].length; c++) {
+                        sub[r][c] = pyramid.get(r, col + c);
+                    }
+                }
+                assertEquals(solver.pyramidMaximumTotal(new Pyramid(sub)), index.bestTotalFrom(row, col),
+                        "from [" + row + "," + col + "]");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match solves restricted to top-row ranges and cells")
+    void shouldMatchRestrictedSolves() {
+        Pyramid pyramid = new ProceduralPyramid(40, 1000, 7L);
+        PyramidPathIndex index = new PyramidPathIndex(pyramid);
+
+        for (int from = 0; from < 40; from += 3) {
+            for (int to = from; to < 40; to += 5) {
+                assertEquals(solveEndingIn(pyramid, from, to), index.bestTotalEndingIn(from, to),
+                        "range [" + from + "," + to + "]");
+            }
+            assertEquals(solveEndingIn(pyramid, from, from), index.bestTotalTo(0, from));
+        }
+    }
+
+    @Test
+    @DisplayName("Should find the best path through any cell")
+    void shouldFindBestPathThroughCells() {
+        Pyramid pyramid = new ProceduralPyramid(30, 1000, 11L);
+        PyramidPathIndex index = new PyramidPathIndex(pyramid);
+        long best = solver.pyramidMaximumTotal(pyramid);
+
+        long maxThrough = Long.MIN_VALUE;
+        for (int row = 0; row < 30; row++) {
+            long rowMax = Long.MIN_VALUE;
+            for (int col = 0; col < 30 - row; col++) {
+                long through = index.bestTotalThrough(row, col);
+                assertTrue(through <= best);
+                rowMax = Math.max(rowMax, through);
+            }
+            // Every full path crosses every row once
+            assertEquals(best, rowMax, "row " + row);
+            maxThrough = Math.max(maxThrough, rowMax);
+        }
+        assertEquals(best, maxThrough);
+    }
+
+    @Test
+    @DisplayName("Should reject cells and ranges outside the pyramid")
+    void shouldRejectOutOfRangeQueries() {
+        PyramidPathIndex index = new PyramidPathIndex(new Pyramid(PyramidTestData.DEMO_DATA));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> index.bestTotalTo(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.bestTotalFrom(4, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.bestTotalEndingIn(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> index.bestTotalEndingIn(2, 1));
+        assertEquals(0, new PyramidPathIndex(new Pyramid(new int[0][])).getMaximumTotal());
+    }
+
+    private long solveEndingIn(Pyramid pyramid, int from, int to) {
+        int[][] data = pyramid.getData();
+        for (int col = 0; col < data[0].length; col++) {
+            if (col < from || col > to) {
+                data[0][col] = BLOCKED;
+            }
+        }
+        return solver.pyramidMaximumTotal(new Pyramid(data));
+    }
+}
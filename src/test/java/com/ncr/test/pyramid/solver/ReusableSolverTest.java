@@ -0,0 +1,84 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.ReusableSolver;
+import com.ncr.test.pyramid.solver.impl.SolverContext;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReusableSolver Tests")
+class ReusableSolverTest {
+
+    private PyramidSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new ReusableSolver();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should produce correct results for known test cases")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldProduceCorrectResults(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+        assertEquals(expected, solver.pyramidMaximumTotal(PackedPyramid.of(pyramidData)), description);
+    }
+
+    @Test
+    @DisplayName("Should reuse buffers sized for the largest pyramid")
+    void shouldGrowButNotShrink() {
+        SolverContext context = new SolverContext();
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        Pyramid large = new RandomPyramidGenerator(50, 100).generatePyramid();
+        Pyramid small = new Pyramid(PyramidTestData.DEMO_DATA);
+
+        assertEquals(new YourSolver().pyramidMaximumTotal(large), context.solve(large));
+        assertEquals(PyramidTestData.DEMO_EXPECTED, context.solve(small));
+        assertEquals(50, context.getCapacity());
+    }
+
+    @Test
+    @DisplayName("Should not allocate once the buffers are sized")
+    void shouldNotAllocateInSteadyState() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        enableAllocationCounting(threads);
+
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        Pyramid packed = new RandomPyramidGenerator(200, 1000).generatePyramid();
+        Pyramid jagged = new Pyramid(packed.getData());
+        long expected = new YourSolver().pyramidMaximumTotal(packed);
+
+        // Warm up: sizes the buffers and lets the JIT settle
+        long checksum = 0;
+        for (int i = 0; i < 1000; i++) {
+            checksum += solver.pyramidMaximumTotal(packed) + solver.pyramidMaximumTotal(jagged);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1000; i++) {
+            checksum += solver.pyramidMaximumTotal(packed) + solver.pyramidMaximumTotal(jagged);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(4000 * expected, checksum);
+        assertEquals(0L, allocated, "Steady-state solves should not allocate");
+    }
+
+    private static void enableAllocationCounting(com.sun.management.ThreadMXBean threads) {
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM should count thread allocations");
+    }
+}
@@ -0,0 +1,164 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.SemiringPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.StandardSemiring;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SemiringPyramidSolver Tests")
+class SemiringPyramidSolverTest {
+
+    @ParameterizedTest
+    @DisplayName("Should match the maximum path total with max-plus")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldMatchMaximumWithMaxPlus(int[][] pyramidData, long expected, String description) {
+        SemiringPyramidSolver solver = new SemiringPyramidSolver(StandardSemiring.MAX_PLUS);
+
+        assertEquals(expected, solver.solve(new Pyramid(pyramidData)), description);
+        assertEquals(expected, solver.solve(PackedPyramid.of(pyramidData)), description);
+    }
+
+    @Test
+    @DisplayName("Should compute the demo data totals for every built-in semiring")
+    void shouldComputeDemoTotals() {
+        Pyramid pyramid = new Pyramid(PyramidTestData.DEMO_DATA);
+
+        assertEquals(353L, new SemiringPyramidSolver(StandardSemiring.MAX_PLUS).solve(pyramid));
+        // 23 → 36 → 1 → 98
+        assertEquals(158L, new SemiringPyramidSolver(StandardSemiring.MIN_PLUS).solve(pyramid));
+        // 23 is on every path
+        assertEquals(23L, new SemiringPyramidSolver(StandardSemiring.MAX_MIN).solve(pyramid));
+        assertEquals(8L, new SemiringPyramidSolver(StandardSemiring.PATH_COUNT).solve(pyramid));
+        assertEquals(8L, new SemiringPyramidSolver(StandardSemiring.PATH_COUNT_EXACT).solve(pyramid));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should give the same totals through the specialized and the generic kernel")
+    @MethodSource("standardSemirings")
+    void shouldMatchGenericKernel(StandardSemiring semiring) {
+        for (int size : new int[]{1, 2, 3, 8, 13}) {
+            RandomPyramidGenerator.setRandSeed(size);
+            int[][] data = new RandomPyramidGenerator(size, 5).generatePyramid().getData();
+            // Some zero cells, so path counting has blocked cells
+            for (int[] row : data) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] -= 1;
+                }
+            }
+            Pyramid pyramid = new Pyramid(data);
+
+            assertEquals(bruteForce(pyramid, semiring), new SemiringPyramidSolver(semiring).solve(pyramid),
+                    semiring + " on " + size + " rows");
+            assertEquals(bruteForce(pyramid, semiring), new SemiringPyramidSolver(generic(semiring)).solve(pyramid),
+                    "generic " + semiring + " on " + size + " rows");
+        }
+    }
+
+    @Test
+    @DisplayName("Should saturate or fail when the path count overflows")
+    void shouldHandleCountOverflow() {
+        int[][] ones = new int[70][];
+        for (int row = 0; row < ones.length; row++) {
+            ones[row] = new int[ones.length - row];
+            Arrays.fill(ones[row], 1);
+        }
+        Pyramid pyramid = new Pyramid(ones);
+
+        assertEquals(Long.MAX_VALUE, new SemiringPyramidSolver(StandardSemiring.PATH_COUNT).solve(pyramid));
+        assertThrows(ArithmeticException.class,
+                () -> new SemiringPyramidSolver(StandardSemiring.PATH_COUNT_EXACT).solve(pyramid));
+    }
+
+    @Test
+    @DisplayName("Should return 0 for an empty pyramid but the semiring zero from solve")
+    void shouldHandleEmptyPyramid() {
+        Pyramid empty = new Pyramid(new int[0][]);
+        for (StandardSemiring semiring : StandardSemiring.values()) {
+            SemiringPyramidSolver solver = new SemiringPyramidSolver(semiring);
+            assertEquals(0L, solver.pyramidMaximumTotal(empty), semiring.name());
+            assertEquals(semiring.zero(), solver.solve(empty), semiring.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count paths tied for the maximum")
+    void shouldCountTiedMaximum() {
+        assertEquals(new SemiringPyramidSolver.TiedMaximum(0L, 2L),
+                SemiringPyramidSolver.maxWithTieCount(new Pyramid(PyramidTestData.ALL_ZEROS)));
+        assertEquals(new SemiringPyramidSolver.TiedMaximum(353L, 1L),
+                SemiringPyramidSolver.maxWithTieCount(new Pyramid(PyramidTestData.DEMO_DATA)));
+
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        Pyramid pyramid = new RandomPyramidGenerator(12, 3).generatePyramid();
+        long max = new YourSolver().pyramidMaximumTotal(pyramid);
+        assertEquals(new SemiringPyramidSolver.TiedMaximum(max, countPaths(pyramid, pyramid.getRows() - 1, 0, 0L, max)),
+                SemiringPyramidSolver.maxWithTieCount(pyramid));
+    }
+
+    static Stream<StandardSemiring> standardSemirings() {
+        return Arrays.stream(StandardSemiring.values());
+    }
+
+    /**
+     * Wraps a built-in semiring so that the solver cannot recognise it.
+     */
+    private static Semiring generic(Semiring semiring) {
+        return new Semiring() {
+            @Override
+            public long zero() {
+                return semiring.zero();
+            }
+
+            @Override
+            public long plus(long a, long b) {
+                return semiring.plus(a, b);
+            }
+
+            @Override
+            public long times(long a, long b) {
+                return semiring.times(a, b);
+            }
+
+            @Override
+            public long weight(int cell) {
+                return semiring.weight(cell);
+            }
+        };
+    }
+
+    private static long bruteForce(Pyramid pyramid, Semiring semiring) {
+        return pathsFrom(pyramid, semiring, pyramid.getRows() - 1, 0);
+    }
+
+    /**
+     * ⊕ over all paths from (row, col) to the top row of the ⊗ of their weights.
+     */
+    private static long pathsFrom(Pyramid pyramid, Semiring semiring, int row, int col) {
+        long weight = semiring.weight(pyramid.get(row, col));
+        if (row == 0) {
+            return weight;
+        }
+        return semiring.plus(
+                semiring.times(weight, pathsFrom(pyramid, semiring, row - 1, col)),
+                semiring.times(weight, pathsFrom(pyramid, semiring, row - 1, col + 1)));
+    }
+
+    private static long countPaths(Pyramid pyramid, int row, int col, long sum, long target) {
+        long total = sum + pyramid.get(row, col);
+        if (row == 0) {
+            return total == target ? 1 : 0;
+        }
+        return countPaths(pyramid, row - 1, col, total, target) + countPaths(pyramid, row - 1, col + 1, total, target);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.io.BinaryPyramidWriter;
+import com.ncr.test.pyramid.solver.impl.StreamingPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StreamingPyramidSolver Tests")
+class StreamingPyramidSolverTest {
+
+    private StreamingPyramidSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new StreamingPyramidSolver();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should solve known test cases")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldSolveKnownTestCases(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+        assertEquals(expected, solver.solve(Arrays.asList(pyramidData).iterator()), description);
+    }
+
+    @Test
+    @DisplayName("Should accept jagged rows from an iterator")
+    void shouldAcceptJaggedRows() {
+        List<int[]> rows = List.of(new int[]{59, 207, 98, 95}, new int[]{87, 1, 70}, new int[]{36, 41}, new int[]{23});
+        assertEquals(PyramidTestData.DEMO_EXPECTED, solver.solve(rows.iterator()));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should match YourSolver when reading the binary format from a stream")
+    @ValueSource(ints = {1, 2, 7, 99, 500})
+    void shouldSolveBinaryStream(int size) throws IOException {
+        RandomPyramidGenerator.setRandSeed(size);
+        Pyramid pyramid = new RandomPyramidGenerator(size, 10000).generatePyramid();
+
+        long result = solver.solve(new ByteArrayInputStream(toBytes(pyramid)));
+
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), result);
+    }
+
+    @Test
+    @DisplayName("Should report a truncated stream")
+    void shouldReportTruncatedStream() throws IOException {
+        byte[] bytes = toBytes(new Pyramid(PyramidTestData.DEMO_DATA));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 2);
+
+        assertThrows(EOFException.class, () -> solver.solve(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    @DisplayName("Should reject a stream ending before the bottom row")
+    void shouldRejectMissingRows() {
+        List<int[]> rows = List.of(new int[]{5, 9, 8, 4}, new int[]{6, 4, 5});
+        assertThrows(IllegalStateException.class, () -> solver.solve(rows.iterator()));
+    }
+
+    @Test
+    @DisplayName("Should reject a row that is too short")
+    void shouldRejectShortRow() {
+        StreamingPyramidSolver.Session session = new StreamingPyramidSolver.Session();
+        session.accept(new int[]{5, 9, 8, 4});
+        assertThrows(IllegalArgumentException.class, () -> session.accept(new int[]{6, 4}));
+    }
+
+    private static byte[] toBytes(Pyramid pyramid) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryPyramidWriter().write(pyramid, Channels.newChannel(out), Integer.BYTES);
+        return out.toByteArray();
+    }
+}
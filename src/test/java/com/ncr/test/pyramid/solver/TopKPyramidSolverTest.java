@@ -0,0 +1,106 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.TopKPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TopKPyramidSolver Tests")
+class TopKPyramidSolverTest {
+
+    @ParameterizedTest
+    @DisplayName("Should report the maximum as the first total")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldReportMaximumFirst(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, new TopKPyramidSolver(3).pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+    }
+
+    @Test
+    @DisplayName("Should list every path of the demo data")
+    void shouldListAllDemoPaths() {
+        long[] totals = new TopKPyramidSolver(100).topTotals(new Pyramid(PyramidTestData.DEMO_DATA));
+
+        // 3 rows above the bottom give 2^3 paths, all with different totals
+        assertArrayEquals(enumerate(new Pyramid(PyramidTestData.DEMO_DATA), 100), totals);
+        assertEquals(8, totals.length);
+        assertEquals(PyramidTestData.DEMO_EXPECTED, totals[0]);
+    }
+
+    @Test
+    @DisplayName("Should list equal totals of different paths once")
+    void shouldListDistinctTotals() {
+        int[][] ties = {
+                {1, 1, 1, 1},
+                {1, 1, 1},
+                {2, 1},
+                {0}
+        };
+
+        // 8 paths: the 4 through the 2 total 4, the other 4 total 3
+        assertArrayEquals(new long[]{4, 3}, new TopKPyramidSolver(10).topTotals(new Pyramid(ties)));
+        assertArrayEquals(new long[]{0}, new TopKPyramidSolver(3).topTotals(new Pyramid(PyramidTestData.ALL_ZEROS)));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should match enumerating all paths")
+    @ValueSource(ints = {1, 2, 5, 10, 50, 200})
+    void shouldMatchEnumeration(int k) {
+        RandomPyramidGenerator.setRandSeed(k);
+        Pyramid pyramid = new RandomPyramidGenerator(12, 50).generatePyramid();
+
+        assertArrayEquals(enumerate(pyramid, k), new TopKPyramidSolver(k).topTotals(pyramid));
+    }
+
+    @Test
+    @Tag("slow")
+    @DisplayName("Should handle K = 300 on a 10,000 row pyramid")
+    void shouldHandleLargeK() {
+        RandomPyramidGenerator.setRandSeed(PyramidTestData.RANDOM_TEST_SEED);
+        Pyramid pyramid = new RandomPyramidGenerator(10_000, 1000).generatePyramid();
+
+        long[] totals = assertTimeoutPreemptively(Duration.ofSeconds(60),
+                () -> new TopKPyramidSolver(300).topTotals(pyramid));
+
+        assertEquals(300, totals.length);
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), totals[0]);
+        for (int i = 1; i < totals.length; i++) {
+            assertTrue(totals[i - 1] > totals[i], "Totals should be distinct and descending");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive K")
+    void shouldRejectInvalidK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopKPyramidSolver(0));
+    }
+
+    private static long[] enumerate(Pyramid pyramid, int k) {
+        List<Long> totals = new ArrayList<>();
+        collect(pyramid, pyramid.getRows() - 1, 0, 0L, totals);
+        return totals.stream().distinct().sorted(Comparator.reverseOrder()).limit(k)
+                .mapToLong(Long::longValue).toArray();
+    }
+
+    private static void collect(Pyramid pyramid, int row, int col, long sum, List<Long> totals) {
+        long total = sum + pyramid.get(row, col);
+        if (row == 0) {
+            totals.add(total);
+            return;
+        }
+        collect(pyramid, row - 1, col, total, totals);
+        collect(pyramid, row - 1, col + 1, total, totals);
+    }
+}
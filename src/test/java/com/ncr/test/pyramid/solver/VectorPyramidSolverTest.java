@@ -0,0 +1,57 @@
+package com.ncr.test.pyramid.solver;
+
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.Pyramid;
+import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
+import com.ncr.test.pyramid.solver.impl.VectorPyramidSolver;
+import com.ncr.test.pyramid.solver.impl.YourSolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VectorPyramidSolver Tests")
+class VectorPyramidSolverTest {
+
+    private PyramidSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        solver = new VectorPyramidSolver();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should produce correct results for known test cases")
+    @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+    void shouldProduceCorrectResults(int[][] pyramidData, long expected, String description) {
+        assertEquals(expected, solver.pyramidMaximumTotal(new Pyramid(pyramidData)), description);
+        assertEquals(expected, solver.pyramidMaximumTotal(PackedPyramid.of(pyramidData)), description);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should match YourSolver on sizes around the vector length")
+    @ValueSource(ints = {1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 31, 33, 64, 65, 257})
+    void shouldMatchYourSolver(int size) {
+        RandomPyramidGenerator.setRandSeed(size);
+        Pyramid pyramid = new RandomPyramidGenerator(size, 10000).generatePyramid();
+
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), solver.pyramidMaximumTotal(pyramid));
+    }
+
+    @Test
+    @DisplayName("Should handle extreme cell values without overflowing the sentinel")
+    void shouldHandleExtremeValues() {
+        int[][] data = {
+                {Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE},
+                {Integer.MIN_VALUE, Integer.MIN_VALUE, 0},
+                {Integer.MIN_VALUE, 0, 0}
+        };
+        Pyramid pyramid = new Pyramid(data);
+
+        assertEquals(new YourSolver().pyramidMaximumTotal(pyramid), solver.pyramidMaximumTotal(pyramid));
+    }
+}
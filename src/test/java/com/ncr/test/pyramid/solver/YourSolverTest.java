@@ -1,5 +1,7 @@
 package com.ncr.test.pyramid.solver;
 
+import com.ncr.test.pyramid.data.PackedPyramid;
+import com.ncr.test.pyramid.data.ProceduralPyramid;
 import com.ncr.test.pyramid.data.Pyramid;
 import com.ncr.test.pyramid.data.PyramidGenerator;
 import com.ncr.test.pyramid.data.impl.RandomPyramidGenerator;
@@ -117,6 +119,14 @@ class YourSolverTest {
                     "All zeros should result in sum of 0");
         }
 
+        @Test
+        @DisplayName("Should return 0 for an empty pyramid in every layout")
+        void shouldHandleEmptyPyramid() {
+            assertEquals(0L, solver.pyramidMaximumTotal(new Pyramid(new int[0][])));
+            assertEquals(0L, solver.pyramidMaximumTotal(PackedPyramid.allocate(0)));
+            assertEquals(0L, solver.pyramidMaximumTotal(new ProceduralPyramid(0, 10, 1L)));
+        }
+
         @Test
         @DisplayName("Should handle small pyramid")
         void shouldHandleSmallPyramid() {
@@ -222,6 +232,29 @@ class YourSolverTest {
         }
     }
 
+    @Nested
+    @DisplayName("Packed Pyramid Layout")
+    class PackedLayoutTests {
+
+        @ParameterizedTest
+        @DisplayName("Should match the jagged layout for known test cases")
+        @MethodSource("com.ncr.test.pyramid.solver.YourSolverTest$CorrectnessTests#provideKnownTestCases")
+        void shouldMatchJaggedLayout(int[][] pyramidData, long expected, String description) {
+            assertEquals(expected, solver.pyramidMaximumTotal(PackedPyramid.of(pyramidData)), description);
+        }
+
+        @ParameterizedTest
+        @DisplayName("Should match the jagged layout for random pyramids")
+        @ValueSource(ints = {1, 2, 3, 10, 99, 300})
+        void shouldMatchJaggedLayoutForRandomPyramids(int size) {
+            RandomPyramidGenerator.setRandSeed(size);
+            Pyramid packed = new RandomPyramidGenerator(size, 10000).generatePyramid();
+            Pyramid jagged = new Pyramid(packed.getData());
+
+            assertEquals(solver.pyramidMaximumTotal(jagged), solver.pyramidMaximumTotal(packed));
+        }
+    }
+
     @Test
     @DisplayName("Should not modify input data")
     void shouldNotModifyInputData() {